@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고 보관 구조별 갱신/조회 처리량, 할당량, 메모리 사용량 비교
+ * <ul>
+ *     <li> TABLE_MAP: UserPointTable과 같은 Map&lt;Long, UserPoint&gt; (여러 스레드에서 쓰도록 ConcurrentHashMap 사용)</li>
+ *     <li> PACKED: LongBalanceMap (long 키 → pack한 잔고/수정 시각)</li>
+ * </ul>
+ * 갱신 한 번당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 확인합니다. (./gradlew jmh -PjmhIncludes=BalanceMapBenchmark -PjmhProfilers=gc)
+ * footprint는 유저 수만큼 채운 뒤 늘어난 힙 사용량을 유저 수로 나눈 값을 bytesPerUser 보조 지표로 출력합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BalanceMapBenchmark {
+
+    public enum Structure {TABLE_MAP, PACKED}
+
+    @Param({"TABLE_MAP", "PACKED"})
+    public Structure structure;
+
+    @Param({"1000000"})
+    public int userCount;
+
+    private Map<Long, UserPoint> tableMap;
+    private LongBalanceMap packed;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double bytesPerUser;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tableMap = null;
+        packed = null;
+        fill();
+    }
+
+    /**
+     * 잔고를 읽고 1 포인트를 더해 다시 저장합니다. (충전 경로의 잔고 갱신)
+     */
+    @Benchmark
+    public long update() {
+        long id = ThreadLocalRandom.current().nextLong(userCount);
+        return switch (structure) {
+            case TABLE_MAP -> {
+                UserPoint userPoint = tableMap.get(id);
+                UserPoint updated = new UserPoint(id, (userPoint.point() + 1) % UserPoint.MAX_USER_POINT, System.currentTimeMillis());
+                tableMap.put(id, updated);
+                yield updated.point();
+            }
+            case PACKED -> {
+                long point = (LongBalanceMap.point(packed.get(id)) + 1) % UserPoint.MAX_USER_POINT;
+                packed.put(id, LongBalanceMap.pack(point, System.currentTimeMillis()));
+                yield point;
+            }
+        };
+    }
+
+    @Benchmark
+    public long get() {
+        long id = ThreadLocalRandom.current().nextLong(userCount);
+        return switch (structure) {
+            case TABLE_MAP -> tableMap.get(id).point();
+            case PACKED -> LongBalanceMap.point(packed.get(id));
+        };
+    }
+
+    /**
+     * 빈 상태에서 userCount명을 채우는 시간과 유저당 메모리 사용량
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void footprint(Footprint footprint) {
+        tableMap = null;
+        packed = null;
+        long before = usedHeap();
+        fill();
+        footprint.bytesPerUser = (double) (usedHeap() - before) / userCount;
+    }
+
+    private void fill() {
+        long now = System.currentTimeMillis();
+        switch (structure) {
+            case TABLE_MAP -> {
+                tableMap = new ConcurrentHashMap<>();
+                for (long id = 0; id < userCount; id++) {
+                    tableMap.put(id, new UserPoint(id, 0, now));
+                }
+            }
+            case PACKED -> {
+                packed = new LongBalanceMap();
+                for (long id = 0; id < userCount; id++) {
+                    packed.put(id, LongBalanceMap.pack(0, now));
+                }
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 로그 기록 처리량(ops/sec) 벤치마크
+ * syncOnAppend=true는 동기화(fsync)까지 기다린 내구성 있는 기록, false는 메모리 매핑 영역에 쓰기만 한 기록의 처리량입니다.
+ * 여러 스레드(-PjmhThreads)로 실행하면 한 번의 동기화로 여러 기록이 함께 반영되는 효과(group fsync)를 확인할 수 있습니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PointCommitLogBenchmark {
+
+    @Param({"true", "false"})
+    public boolean syncOnAppend;
+
+    @Param({"1", "5"})
+    public long syncIntervalMillis;
+
+    private Path directory;
+    private PointCommitLog pointCommitLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-commit-log-bench");
+        pointCommitLog = new PointCommitLog(
+                new PointCommitLogProperties(true, directory, DataSize.ofMegabytes(64), Duration.ofMillis(syncIntervalMillis), syncOnAppend),
+                new PointThreadFactory(false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException, IOException {
+        pointCommitLog.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long append() {
+        long userId = ThreadLocalRandom.current().nextLong(1, 10_000);
+        return pointCommitLog.append(userId, 1L, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
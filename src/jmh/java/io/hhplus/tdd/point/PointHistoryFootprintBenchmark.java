@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 내역 표현 방식별 메모리 사용량과 적재 시간 비교
+ * <ul>
+ *     <li> OBJECT: 지금의 PointHistoryTable/PointHistoryStore와 같은 구조 (PointHistory 객체 리스트 + 유저별 참조 배열)</li>
+ *     <li> COLUMNAR: ColumnarPointHistoryStore (컬럼별 primitive 배열 + 유저별 행 번호 배열)</li>
+ * </ul>
+ * 적재 전후의 힙 사용량 차이를 행 수로 나눈 값을 bytesPerRow 보조 지표로 함께 출력합니다.
+ * 할당량은 -prof gc 로 확인합니다. (./gradlew jmh -PjmhIncludes=PointHistoryFootprintBenchmark)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PointHistoryFootprintBenchmark {
+
+    public enum Representation {OBJECT, COLUMNAR}
+
+    @Param({"OBJECT", "COLUMNAR"})
+    public Representation representation;
+
+    @Param({"5000000"})
+    public int rows;
+
+    @Param({"100000"})
+    public int userCount;
+
+    private Object retained;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double bytesPerRow;
+    }
+
+    @TearDown(Level.Iteration)
+    public void release() {
+        retained = null;
+    }
+
+    @Benchmark
+    public void load(Footprint footprint) {
+        long before = usedHeap();
+        retained = switch (representation) {
+            case OBJECT -> loadObjects();
+            case COLUMNAR -> loadColumns();
+        };
+        footprint.bytesPerRow = (double) (usedHeap() - before) / rows;
+    }
+
+    private Object loadObjects() {
+        List<PointHistory> table = new ArrayList<>();
+        Map<Long, List<PointHistory>> userIndex = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            PointHistory pointHistory = new PointHistory(i + 1L, i % userCount, 1L, TransactionType.CHARGE, i);
+            table.add(pointHistory);
+            userIndex.computeIfAbsent(pointHistory.userId(), id -> new ArrayList<>()).add(pointHistory);
+        }
+        return List.of(table, userIndex);
+    }
+
+    private Object loadColumns() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore();
+        for (int i = 0; i < rows; i++) {
+            store.insert(i % userCount, 1L, TransactionType.CHARGE, i);
+        }
+        return store;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 경로의 처리량 벤치마크
+ * 테이블 지연은 tableLatencyMicros 로 고정(0이면 무지연)하여 락/자료구조 오버헤드의 변화를 추적합니다.
+ * 스레드 수는 -PjmhThreads 로 조절합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 50_000L;
+    private static final int HISTORY_ROWS_PER_USER = 20;
+
+    @Param({"LOCK", "GROUP_COMMIT", "CAS", "ACTOR"})
+    public PointWriteMode writeMode;
+
+    @Param({"PER_USER", "STRIPED"})
+    public LockProperties.Mode lockMode;
+
+    @Param({"HOT", "UNIFORM", "ZIPF"})
+    public UserIdDistribution distribution;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"0"})
+    public long tableLatencyMicros;
+
+    @Param({"false"})
+    public boolean asyncHistory;
+
+    private PointServiceFixture fixture;
+    private UserIdDistribution.Sampler sampler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(writeMode, lockMode, asyncHistory, 0L); // 초기 데이터는 지연 없이 채운다
+        sampler = distribution.sampler(userCount);
+
+        // 잔고와 내역을 미리 채워 충전/사용이 한도에 걸리지 않고 내역 조회 크기가 일정하게 한다
+        for (long userId = 1; userId <= userCount; userId++) {
+            fixture.userPointTable.insertOrUpdate(userId, INITIAL_POINT);
+            for (int i = 0; i < HISTORY_ROWS_PER_USER; i++) {
+                fixture.pointHistoryTable.insert(userId, 1L, TransactionType.CHARGE, i);
+            }
+        }
+        fixture.userPointTable.setLatencyMicros(tableLatencyMicros);
+        fixture.pointHistoryTable.setLatencyMicros(tableLatencyMicros);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.shutdown();
+    }
+
+    /**
+     * 충전 후 같은 금액을 사용해 잔고를 일정하게 유지하면서 충전/사용 경로를 함께 측정합니다.
+     */
+    @Benchmark
+    public void chargeThenUse(Blackhole blackhole) {
+        long userId = sampler.next();
+        blackhole.consume(fixture.pointService.chargePoint(userId, 1L));
+        blackhole.consume(fixture.pointService.usePoint(userId, 1L));
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return fixture.pointService.getPoint(sampler.next());
+    }
+
+    @Benchmark
+    public Object getUserPointHistory() {
+        return fixture.pointService.getUserPointHistory(sampler.next());
+    }
+}
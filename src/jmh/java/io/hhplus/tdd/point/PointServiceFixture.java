@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 스프링 컨텍스트 없이 벤치마크용 PointService와 의존 객체를 구성합니다.
+ */
+public class PointServiceFixture {
+
+    public final StubUserPointTable userPointTable;
+    public final StubPointHistoryTable pointHistoryTable;
+    public final PointHistoryAppender pointHistoryAppender;
+    public final CasBalanceEngine casBalanceEngine;
+    public final PointActorExecutor pointActorExecutor;
+    public final PointService pointService;
+
+    public PointServiceFixture(PointWriteMode writeMode, LockProperties.Mode lockMode, boolean asyncHistory, long tableLatencyMicros) {
+        this.userPointTable = new StubUserPointTable(tableLatencyMicros);
+        this.pointHistoryTable = new StubPointHistoryTable(tableLatencyMicros);
+
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 1_000_000, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics));
+        PointCommitLog pointCommitLog = new PointCommitLog(
+                new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(64), Duration.ofMillis(5), true), new PointThreadFactory(false));
+        this.pointHistoryAppender = new PointHistoryAppender(pointHistoryStore, pointCommitLog,
+                new PointHistoryAppendProperties(asyncHistory, 100_000, 4, Duration.ofSeconds(30)), new PointThreadFactory(false));
+        LockManager lockManager = new LockManager(new LockProperties(lockMode, 4096, Duration.ZERO, 0), pointMetrics);
+        PointWriteProperties writeProperties = new PointWriteProperties(writeMode,
+                new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(4, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(16, 100_000, Duration.ofSeconds(30)));
+        PointGroupCommitter pointGroupCommitter = new PointGroupCommitter(userPointCache, pointHistoryAppender, lockManager, writeProperties);
+        this.casBalanceEngine = new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, new PointThreadFactory(false));
+        this.pointActorExecutor = new PointActorExecutor(userPointCache, pointHistoryAppender, writeProperties, pointMetrics, new PointThreadFactory(false));
+
+        PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(new PointReadProperties(true, true, 100_000), writeProperties, lockManager);
+
+        this.pointService = new PointService(userPointCache, pointHistoryStore, pointHistoryAppender, lockManager,
+                pointGroupCommitter, casBalanceEngine, pointActorExecutor, pointReadCoalescer, writeProperties, pointMetrics);
+    }
+
+    public void shutdown() throws InterruptedException {
+        casBalanceEngine.shutdown();
+        pointActorExecutor.shutdown();
+        pointHistoryAppender.shutdown();
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 벤치마크용 UserPointTable
+ * 임의 지연(throttle) 대신 고정 지연을 주거나(latencyMicros > 0) 지연 없이 동작해, 락/자료구조 오버헤드만 측정할 수 있게 합니다.
+ */
+public class StubUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private volatile long latencyNanos;
+
+    public StubUserPointTable(long latencyMicros) {
+        setLatencyMicros(latencyMicros);
+    }
+
+    public void setLatencyMicros(long latencyMicros) {
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        simulateLatency();
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        simulateLatency();
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    private void simulateLatency() {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+}
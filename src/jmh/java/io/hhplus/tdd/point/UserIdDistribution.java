@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청이 대상 유저를 고르는 분포
+ * - HOT : 모든 요청이 한 유저에 몰림
+ * - UNIFORM : 모든 유저가 같은 확률
+ * - ZIPF : 소수 유저에 요청이 몰리는 멱법칙 분포 (지수 1.0)
+ */
+public enum UserIdDistribution {
+    HOT, UNIFORM, ZIPF;
+
+    /**
+     * @param userCount 유저 수
+     * @return 1 ~ userCount 범위의 유저id를 고르는 Sampler
+     */
+    public Sampler sampler(int userCount) {
+        return switch (this) {
+            case HOT -> () -> 1L;
+            case UNIFORM -> () -> ThreadLocalRandom.current().nextLong(1, userCount + 1L);
+            case ZIPF -> zipf(userCount, 1.0);
+        };
+    }
+
+    private static Sampler zipf(int userCount, double exponent) {
+        double[] cdf = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < userCount; i++) {
+            cdf[i] /= sum;
+        }
+
+        return () -> {
+            double random = ThreadLocalRandom.current().nextDouble();
+            int low = 0;
+            int high = userCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cdf[mid] < random) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low + 1L;
+        };
+    }
+
+    @FunctionalInterface
+    public interface Sampler {
+        long next();
+    }
+}
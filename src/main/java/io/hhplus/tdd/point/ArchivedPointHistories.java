@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * 복구 시 메모리에 적재하지 않고 커밋 로그(보관 파일과 세그먼트)에 남겨 둔 스냅샷 이전의 내역
+ * 유저별 내역은 PointHistoryStore가 그 유저의 내역을 처음 읽을 때 loader로 로그에서 골라 읽습니다.
+ *
+ * @param lastId  남겨 둔 내역의 마지막 id (스냅샷의 lastSequence), 이후 저장되는 내역은 이보다 큰 id를 받습니다
+ * @param userIds 남겨 둔 내역이 있는 유저id (스냅샷에 잔고가 있는 유저)
+ * @param loader  유저id를 받아 남겨 둔 내역을 id 오름차순으로 읽는 함수
+ */
+public record ArchivedPointHistories(
+        long lastId,
+        Set<Long> userIds,
+        LongFunction<List<PointHistory>> loader
+) {
+    public static final ArchivedPointHistories NONE = new ArchivedPointHistories(0, Set.of(), userId -> List.of());
+
+    public boolean contains(long userId) {
+        return userIds.contains(userId);
+    }
+
+    /**
+     * @return 유저의 남겨 둔 내역, 남겨 둔 내역이 없는 유저라면 로그를 읽지 않고 빈 목록
+     */
+    public List<PointHistory> load(long userId) {
+        return contains(userId) ? loader.apply(userId) : List.of();
+    }
+}
@@ -0,0 +1,401 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 없이 compare-and-set으로 잔고를 갱신하는 잔고 엔진 (point.write.mode=cas)
+ * <ul>
+ *     <li> 유저별 최신 UserPoint를 AtomicReference로 보관하는 메모리상의 잔고가 기준 값입니다.</li>
+ *     <li> 충전/사용은 UserPoint의 검증을 거친 새 UserPoint로 compare-and-set 하며, 실패하면 최신 값으로 다시 시도합니다.</li>
+ *     <li> compare-and-set에 성공할 때마다 유저별 version을 1씩 올리고, 내역은 유저별 대기열에 version 순서대로 기록하므로
+ *     같은 유저의 내역과 로그 순서는 잔고가 바뀐 순서와 같습니다.</li>
+ *     <li> 대기열은 그 유저의 요청 스레드 중 하나가 차례로 비우며, 다른 스레드가 비우는 중이라면 내역을 넘겨 두고 기다리지 않고 반환합니다.
+ *     (내역 기록이 늦어지거나 멈춰도 같은 유저의 잔고 갱신은 막히지 않음)</li>
+ *     <li> 유저 id를 기준으로 세그먼트를 나누고, 최대 크기를 넘으면 오래 사용하지 않은 유저부터 제거합니다.
+ *     UserPointTable에 반영되지 않았거나 기록할 내역이 남은 유저는 제거하지 않습니다.</li>
+ *     <li> 변경된 유저는 유저별로 고정된 반영 스레드가 최신 잔고만 UserPointTable에 비동기로 저장합니다.</li>
+ *     <li> 저장에 실패한 유저는 다시 대기열에 넣고, 연속으로 실패할수록 반영 스레드가 더 오래 쉬었다가 다시 시도합니다.</li>
+ *     <li> 종료 시 shutdownTimeout까지만 남은 잔고를 반영하고, 반영하지 못한 유저 수를 남긴 뒤 종료합니다.</li>
+ * </ul>
+ */
+@Component
+public class CasBalanceEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CasBalanceEngine.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    private static final long RETRY_BACKOFF_MILLIS = 10L;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000L;
+    private static final int SEGMENT_COUNT = 16;
+    private static final int EVICTION_SCAN_LIMIT = 8;
+    private static final VersionedUserPoint RETIRED = new VersionedUserPoint(null, -1);
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryAppender pointHistoryAppender;
+    private final Duration shutdownTimeout;
+    private final BalanceSegment[] segments = new BalanceSegment[SEGMENT_COUNT];
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Long>[] flushQueues;
+    private final Thread[] flushers;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public CasBalanceEngine(UserPointCache userPointCache, PointHistoryAppender pointHistoryAppender,
+                            PointWriteProperties writeProperties, PointThreadFactory pointThreadFactory) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryAppender = pointHistoryAppender;
+        this.shutdownTimeout = writeProperties.cas().shutdownTimeout();
+
+        int segmentMaxSize = Math.max(1, (writeProperties.cas().maxSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new BalanceSegment(segmentMaxSize);
+        }
+
+        int flushThreads = writeProperties.mode() == PointWriteMode.CAS ? writeProperties.cas().flushThreads() : 0;
+        this.flushQueues = new BlockingQueue[flushThreads];
+        this.flushers = new Thread[flushThreads];
+        for (int i = 0; i < flushThreads; i++) {
+            BlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+            flushQueues[i] = queue;
+            flushers[i] = pointThreadFactory.start("point-balance-flusher-" + i, () -> flush(queue));
+        }
+    }
+
+    public UserPoint get(long id) {
+        while (true) {
+            VersionedUserPoint current = balanceOf(id).current();
+            if (current != RETIRED) {
+                return current.userPoint();
+            }
+        }
+    }
+
+    public UserPoint charge(long id, long amount) {
+        return apply(id, TransactionType.CHARGE, amount);
+    }
+
+    public UserPoint use(long id, long amount) {
+        return apply(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * @return UserPointTable에 아직 반영되지 않은 유저 수
+     */
+    public int dirtyCount() {
+        return dirtyIds.size();
+    }
+
+    /**
+     * @return 메모리에 잔고를 보관 중인 유저 수
+     */
+    public int balanceCount() {
+        int count = 0;
+        for (BalanceSegment segment : segments) {
+            count += segment.size();
+        }
+        return count;
+    }
+
+    /**
+     * 새 요청이 끝난 뒤 남아있는 변경분을 shutdownTimeout 동안 UserPointTable에 반영하고 종료합니다.
+     * 시간 안에 반영하지 못하면 반영 스레드를 멈추고 반영하지 못한 유저 수를 남깁니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread flusher : flushers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            flusher.join(Math.max(1L, remainingMillis));
+        }
+        for (Thread flusher : flushers) {
+            flusher.interrupt();
+            flusher.join(POLL_TIMEOUT_MILLIS);
+        }
+        if (!dirtyIds.isEmpty()) {
+            log.warn("종료 시간 안에 UserPointTable에 반영하지 못한 잔고가 있습니다: {}명", dirtyIds.size());
+        }
+    }
+
+    private UserPoint apply(long id, TransactionType type, long amount) {
+        while (true) {
+            UserBalance balance = balanceOf(id);
+            VersionedUserPoint updated = balance.update(type, amount);
+            if (updated == null) {
+                continue; // 제거된 잔고를 잡았다면 다시 등록된 잔고로 시도한다
+            }
+            markDirty(id);
+
+            balance.pendingHistories.put(updated.version(),
+                    new PendingHistory(updated.version(), type, amount, updated.userPoint().updateMillis()));
+            drainHistories(id, balance, updated.version());
+            return updated.userPoint();
+        }
+    }
+
+    /**
+     * 다른 스레드가 대기열을 비우는 중이 아니라면 이어지는 version의 내역을 차례로 기록합니다.
+     * 자신의 내역 기록에 실패하면 예외를 던지고, 다른 요청의 내역 기록 실패는 로그만 남깁니다.
+     * 대기열을 놓은 뒤에도 다음 내역이 남아 있는지 다시 확인하므로, 비우는 중에 넘겨진 내역도 기록됩니다.
+     */
+    private void drainHistories(long id, UserBalance balance, long version) {
+        RuntimeException failure = null;
+        while (balance.hasNextHistory() && balance.draining.compareAndSet(false, true)) {
+            try {
+                PendingHistory next;
+                while ((next = balance.pendingHistories.remove(balance.appendedVersion + 1)) != null) {
+                    try {
+                        pointHistoryAppender.append(id, next.amount(), next.type(), next.updateMillis());
+                    } catch (RuntimeException e) {
+                        if (next.version() != version) {
+                            log.error("포인트 내역 기록 실패: userId={}, version={}", id, next.version(), e);
+                        } else {
+                            failure = e;
+                        }
+                    } finally {
+                        balance.appendedVersion = next.version();
+                    }
+                }
+            } finally {
+                balance.draining.set(false);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private UserBalance balanceOf(long id) {
+        BalanceSegment segment = segmentFor(id);
+        while (true) {
+            UserBalance balance = segment.get(id);
+            if (balance != null) {
+                return balance;
+            }
+            // 조회 지연 동안 세그먼트 락을 잡지 않도록 밖에서 읽은 뒤 등록한다
+            long version = segment.version();
+            UserBalance loaded = new UserBalance(userPointCache.selectById(id));
+            UserBalance registered = segment.putIfUnchanged(id, loaded, version);
+            if (registered != null) {
+                return registered;
+            }
+        }
+    }
+
+    private BalanceSegment segmentFor(long id) {
+        int hash = Long.hashCode(id);
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private void markDirty(long id) {
+        if (dirtyIds.add(id)) {
+            flushQueues[Math.floorMod(Long.hashCode(id), flushQueues.length)].add(id);
+        }
+    }
+
+    private void flush(BlockingQueue<Long> queue) {
+        int failures = 0;
+        while (running || !queue.isEmpty()) {
+            Long id;
+            try {
+                id = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (id == null) {
+                continue;
+            }
+
+            // 반영 직전에 표시를 지워, 반영 중 들어온 변경은 다시 대기열에 들어가게 한다
+            dirtyIds.remove(id);
+            UserBalance balance = segmentFor(id).get(id);
+            VersionedUserPoint latest = balance != null ? balance.current() : RETIRED;
+            if (latest == RETIRED) {
+                continue; // 반영할 변경이 남은 잔고는 제거되지 않으므로 이미 반영된 유저다
+            }
+            try {
+                userPointCache.insertOrUpdate(id, latest.userPoint().point());
+                balance.flushedVersion = latest.version();
+                failures = 0;
+            } catch (RuntimeException e) {
+                log.error("잔고 반영 실패: userId={}, 연속 실패 {}회", id, failures + 1, e);
+                markDirty(id);
+                failures++;
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMillis(failures));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 연속 실패 횟수에 따라 두 배씩 늘어나는 재시도 대기 시간 (최대 MAX_RETRY_BACKOFF_MILLIS)
+     */
+    private static long retryBackoffMillis(int failures) {
+        return Math.min(MAX_RETRY_BACKOFF_MILLIS, RETRY_BACKOFF_MILLIS << Math.min(failures - 1, 20));
+    }
+
+    private record VersionedUserPoint(UserPoint userPoint, long version) {
+    }
+
+    private record PendingHistory(long version, TransactionType type, long amount, long updateMillis) {
+    }
+
+    /**
+     * 유저 한 명의 메모리상 잔고와 기록을 기다리는 내역
+     * 잔고는 compare-and-set으로 갱신하고, 내역은 version을 키로 대기열에 넣어 appendedVersion 다음 version부터 차례로 기록합니다.
+     * 제거될 때는 잔고를 RETIRED로 바꿔, 제거된 잔고를 잡고 있던 요청이 다시 등록된 잔고로 갱신하도록 합니다.
+     */
+    private static final class UserBalance {
+        private final AtomicReference<VersionedUserPoint> current;
+        private final ConcurrentHashMap<Long, PendingHistory> pendingHistories = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long appendedVersion; // draining을 잡은 스레드만 쓴다
+        private volatile long flushedVersion; // 유저를 맡은 반영 스레드만 쓴다
+
+        private UserBalance(UserPoint loaded) {
+            this.current = new AtomicReference<>(new VersionedUserPoint(loaded, 0));
+        }
+
+        private VersionedUserPoint current() {
+            return current.get();
+        }
+
+        /**
+         * @return 갱신된 잔고, 이미 제거된 잔고라면 null
+         */
+        private VersionedUserPoint update(TransactionType type, long amount) {
+            while (true) {
+                VersionedUserPoint before = current.get();
+                if (before == RETIRED) {
+                    return null;
+                }
+                UserPoint next = switch (type) {
+                    case CHARGE -> before.userPoint().charge(amount);
+                    case USE -> before.userPoint().use(amount);
+                };
+                VersionedUserPoint after = new VersionedUserPoint(next, before.version() + 1);
+                if (current.compareAndSet(before, after)) {
+                    return after;
+                }
+            }
+        }
+
+        private boolean hasNextHistory() {
+            return pendingHistories.containsKey(appendedVersion + 1);
+        }
+
+        /**
+         * 모든 변경이 UserPointTable에 반영되고 내역도 모두 기록되었다면 잔고를 RETIRED로 바꿉니다.
+         *
+         * @return 제거해도 된다면 true
+         */
+        private boolean retireIfClean() {
+            VersionedUserPoint before = current.get();
+            return before != RETIRED
+                    && before.version() == flushedVersion
+                    && before.version() == appendedVersion
+                    && current.compareAndSet(before, RETIRED);
+        }
+    }
+
+    /**
+     * 접근 순서를 유지하는 LinkedHashMap 기반 LRU 세그먼트
+     * 저장소에서 잔고를 읽는 동안 같은 세그먼트에서 제거가 일어났다면 읽은 잔고를 등록하지 않아,
+     * 제거 직전에 반영된 값보다 오래된 잔고가 등록되는 것을 막습니다.
+     */
+    private static final class BalanceSegment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, UserBalance> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxSize;
+        private long version;
+
+        private BalanceSegment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private UserBalance get(long id) {
+            lock.lock();
+            try {
+                return map.get(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long version() {
+            lock.lock();
+            try {
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return 등록된 잔고 (이미 있다면 기존 잔고), 읽는 동안 제거가 일어났다면 null
+         */
+        private UserBalance putIfUnchanged(long id, UserBalance loaded, long expectedVersion) {
+            lock.lock();
+            try {
+                UserBalance existing = map.get(id);
+                if (existing != null) {
+                    return existing;
+                }
+                if (version != expectedVersion) {
+                    return null;
+                }
+                map.put(id, loaded);
+                evictIfFull(id);
+                return loaded;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 오래 사용하지 않은 순서로 EVICTION_SCAN_LIMIT명까지 살펴보며 제거할 수 있는 유저를 제거합니다.
+         * 반영이 끝나지 않은 유저만 남았다면 잠시 최대 크기를 넘을 수 있습니다.
+         */
+        private void evictIfFull(long addedId) {
+            Iterator<Map.Entry<Long, UserBalance>> iterator = map.entrySet().iterator();
+            int scanned = 0;
+            while (map.size() > maxSize && iterator.hasNext() && scanned++ < EVICTION_SCAN_LIMIT) {
+                Map.Entry<Long, UserBalance> eldest = iterator.next();
+                if (eldest.getKey() != addedId && eldest.getValue().retireIfClean()) {
+                    iterator.remove();
+                    version++;
+                }
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
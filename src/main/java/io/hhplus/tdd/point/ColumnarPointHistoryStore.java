@@ -0,0 +1,302 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 포인트 내역을 컬럼별 primitive 배열에 보관하는 내역 저장소 (point.storage.history=columnar)
+ * <ul>
+ *     <li> 내역 한 건을 객체로 만들지 않고 id, userId, amount, updateMillis(long[])와 type(byte[]) 컬럼에 나누어 저장하므로
+ *     객체 헤더와 참조가 없고, GC가 훑어야 할 객체 수가 내역 수와 무관하게 일정합니다.</li>
+ *     <li> 컬럼은 고정 크기 청크 단위로 늘려 확장 시 기존 데이터를 복사하지 않습니다.</li>
+ *     <li> 유저별 인덱스는 해당 유저 내역의 행 번호(int[])와 종류별 집계만 보관하며, PointHistory는 조회할 때만 만들어 반환합니다.</li>
+ *     <li> 페이지 조회는 커서 위치를 id 컬럼에서 이진 탐색으로 찾고, 조건은 컬럼 값으로 확인해 페이지에 담을 행만 PointHistory로 만듭니다.</li>
+ *     <li> 유저 인덱스와 집계를 직접 유지하므로(IndexedPointHistoryRepository) PointHistoryStore는 내역 인덱스를 따로 두지 않습니다.</li>
+ *     <li> 쓰기는 락으로 직렬화하고, 읽기는 락 없이 size → 컬럼 순서로 읽어 이미 게시된 행만 봅니다.</li>
+ * </ul>
+ * 행 번호를 int로 관리하므로 최대 Integer.MAX_VALUE - 1 건까지 저장할 수 있습니다.
+ */
+public class ColumnarPointHistoryStore implements IndexedPointHistoryRepository {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    // 유저 인덱스 항목 하나의 Node, Long 키, UserRows 객체(72)와 종류별 집계 PointHistorySummary, Stats 2개(144) (compressed oops 기준)
+    private static final long USER_ENTRY_BYTES = 72 + 144;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserRows> userIndex = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int size;
+    private long lastId; // 쓰기 락 안에서만 읽고 쓴다
+
+    /**
+     * 내역을 저장합니다. id는 마지막으로 저장된 id 다음 번호로 부여됩니다.
+     *
+     * @return 저장된 PointHistory
+     */
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory;
+        writeLock.lock();
+        try {
+            pointHistory = new PointHistory(lastId + 1, userId, amount, type, updateMillis);
+            store(pointHistory.id(), userId, amount, type, updateMillis);
+        } finally {
+            writeLock.unlock();
+        }
+        return pointHistory;
+    }
+
+    /**
+     * 이미 id가 부여된 내역을 그대로 저장합니다. (다른 저장소의 내역을 옮겨 올 때 사용)
+     * 유저별 조회 순서를 지키기 위해 id가 오름차순으로 들어와야 합니다.
+     */
+    public void append(PointHistory pointHistory) {
+        writeLock.lock();
+        try {
+            if (pointHistory.id() <= lastId) {
+                throw new IllegalArgumentException("id는 마지막으로 저장된 id보다 커야 합니다: " + pointHistory.id());
+            }
+            store(pointHistory.id(), pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(List<PointHistory> histories, long lastId) {
+        histories.forEach(this::append);
+        writeLock.lock();
+        try {
+            this.lastId = Math.max(this.lastId, lastId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param userId 유저id
+     * @return id 오름차순으로 정렬된 유저의 포인트 내역
+     */
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows userRows = userIndex.get(userId);
+        if (userRows == null) {
+            return List.of();
+        }
+        int n = userRows.size;
+        int[] rows = userRows.rows;
+        Chunk[] snapshot = chunks;
+        List<PointHistory> histories = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            histories.add(materialize(snapshot, rows[i]));
+        }
+        return histories;
+    }
+
+    /**
+     * 유저의 내역을 리스트로 복사하지 않고 id 오름차순으로 순회합니다.
+     */
+    @Override
+    public void forEachByUserId(long userId, Consumer<PointHistory> action) {
+        UserRows userRows = userIndex.get(userId);
+        if (userRows == null) {
+            return;
+        }
+        int n = userRows.size;
+        int[] rows = userRows.rows;
+        Chunk[] snapshot = chunks;
+        for (int i = 0; i < n; i++) {
+            action.accept(materialize(snapshot, rows[i]));
+        }
+    }
+
+    /**
+     * 커서 이후의 행부터 조건을 컬럼 값으로 확인하고, 페이지에 담을 행만 PointHistory로 만듭니다.
+     * 순회 시작 시점까지 저장된 내역만 대상이 됩니다.
+     */
+    @Override
+    public PointHistoryPage findPage(long userId, PointHistoryQuery query) {
+        UserRows userRows = userIndex.get(userId);
+        if (userRows == null) {
+            return new PointHistoryPage(List.of(), null);
+        }
+        int n = userRows.size;
+        int[] rows = userRows.rows;
+        Chunk[] snapshot = chunks;
+
+        int start = query.cursor() == null ? 0 : indexAfter(snapshot, rows, n, query.cursor());
+        List<PointHistory> content = new ArrayList<>(Math.min(query.size(), n - start));
+        for (int i = start; i < n; i++) {
+            int row = rows[i];
+            Chunk chunk = snapshot[row >>> CHUNK_SHIFT];
+            int offset = row & CHUNK_MASK;
+            if (!query.matches(chunk.updateMillis[offset], TYPES[chunk.types[offset]])) {
+                continue;
+            }
+            if (content.size() == query.size()) {
+                // 조건에 맞는 내역이 더 남아있으므로 다음 페이지가 존재한다
+                return new PointHistoryPage(content, content.get(content.size() - 1).id());
+            }
+            content.add(materialize(snapshot, row));
+        }
+        return new PointHistoryPage(content, null);
+    }
+
+    /**
+     * 내역을 저장할 때 갱신해 둔 집계를 반환하므로 내역 수와 무관하게 O(1) 입니다.
+     */
+    @Override
+    public PointHistorySummary summarize(long userId) {
+        UserRows userRows = userIndex.get(userId);
+        return userRows == null ? PointHistorySummary.empty(userId) : userRows.summary;
+    }
+
+    @Override
+    public void forEachUserId(LongConsumer action) {
+        userIndex.keySet().forEach(action::accept);
+    }
+
+    /**
+     * 전체 내역을 id 오름차순으로 순회합니다. 순회 시작 시점까지 저장된 내역만 대상이 됩니다.
+     */
+    public void forEach(Consumer<PointHistory> action) {
+        int n = size;
+        Chunk[] snapshot = chunks;
+        for (int row = 0; row < n; row++) {
+            action.accept(materialize(snapshot, row));
+        }
+    }
+
+    /**
+     * @return 저장된 내역 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 컬럼과 유저 인덱스가 차지하는 대략적인 크기(바이트), 아직 채워지지 않은 용량과 배열 헤더를 포함
+     */
+    public long footprintBytes() {
+        long bytes = chunks.length * Chunk.BYTES;
+        for (UserRows userRows : userIndex.values()) {
+            bytes += USER_ENTRY_BYTES + UserRows.bytes(userRows.rows.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return 내역 한 건당 차지하는 평균 바이트 수
+     */
+    public double bytesPerRow() {
+        int n = size;
+        return n == 0 ? 0 : (double) footprintBytes() / n;
+    }
+
+    private void store(long id, long userId, long amount, TransactionType type, long updateMillis) {
+        int row = size;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("더 이상 내역을 저장할 수 없습니다.");
+        }
+        Chunk chunk = chunkFor(row);
+        int offset = row & CHUNK_MASK;
+        chunk.ids[offset] = id;
+        chunk.userIds[offset] = userId;
+        chunk.amounts[offset] = amount;
+        chunk.updateMillis[offset] = updateMillis;
+        chunk.types[offset] = (byte) type.ordinal();
+        userIndex.computeIfAbsent(userId, UserRows::new).add(row, new PointHistory(id, userId, amount, type, updateMillis));
+        lastId = id;
+        size = row + 1; // 컬럼을 모두 채운 뒤 게시한다
+    }
+
+    private Chunk chunkFor(int row) {
+        int index = row >>> CHUNK_SHIFT;
+        Chunk[] current = chunks;
+        if (index == current.length) {
+            current = Arrays.copyOf(current, index + 1);
+            current[index] = new Chunk();
+            chunks = current;
+        }
+        return current[index];
+    }
+
+    /**
+     * @return 행의 id가 cursor보다 큰 첫 번째 위치
+     */
+    private static int indexAfter(Chunk[] snapshot, int[] rows, int n, long cursor) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int row = rows[mid];
+            if (snapshot[row >>> CHUNK_SHIFT].ids[row & CHUNK_MASK] <= cursor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static PointHistory materialize(Chunk[] snapshot, int row) {
+        Chunk chunk = snapshot[row >>> CHUNK_SHIFT];
+        int offset = row & CHUNK_MASK;
+        return new PointHistory(chunk.ids[offset], chunk.userIds[offset], chunk.amounts[offset],
+                TYPES[chunk.types[offset]], chunk.updateMillis[offset]);
+    }
+
+    /**
+     * CHUNK_SIZE 행을 담는 컬럼 묶음
+     */
+    private static final class Chunk {
+        private static final long ARRAY_HEADER_BYTES = 16;
+        private static final long BYTES = 4 * (ARRAY_HEADER_BYTES + (long) Long.BYTES * CHUNK_SIZE) + ARRAY_HEADER_BYTES + CHUNK_SIZE;
+
+        private final long[] ids = new long[CHUNK_SIZE];
+        private final long[] userIds = new long[CHUNK_SIZE];
+        private final long[] amounts = new long[CHUNK_SIZE];
+        private final long[] updateMillis = new long[CHUNK_SIZE];
+        private final byte[] types = new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * 한 유저의 내역 행 번호를 오름차순으로 보관하는 append-only 배열과 종류별 집계
+     * 쓰기는 ColumnarPointHistoryStore의 쓰기 락 안에서만 일어나며, 집계는 행을 추가할 때 새 PointHistorySummary로 교체합니다.
+     */
+    private static final class UserRows {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private volatile int[] rows = new int[INITIAL_CAPACITY];
+        private volatile int size;
+        private volatile PointHistorySummary summary;
+
+        private UserRows(long userId) {
+            this.summary = PointHistorySummary.empty(userId);
+        }
+
+        private void add(int row, PointHistory pointHistory) {
+            int n = size;
+            int[] current = rows;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                rows = current;
+            }
+            current[n] = row;
+            summary = summary.add(pointHistory);
+            size = n + 1;
+        }
+
+        private static long bytes(int capacity) {
+            return Chunk.ARRAY_HEADER_BYTES + (long) Integer.BYTES * capacity;
+        }
+    }
+}
@@ -9,4 +9,17 @@ public class ErrorMessage {
     public static final String INSUFFICIENT_POINTS = "포인트가 부족합니다.";
     public static final String EXCEED_MAXIMUM_CHARGE_LIMIT = String.format("최대 충전 포인트(%d)를 초과하였습니다.", MAX_USER_POINT);
     public static final String INVALID_TRANSACTION_TYPE = "TransactionType이 null 입니다.";
+    public static final String INVALID_PAGE_SIZE = String.format("페이지 크기는 1 이상 %d 이하이어야 합니다.", PointHistoryQuery.MAX_PAGE_SIZE);
+    public static final String LOCK_WAIT_TIMEOUT = "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.";
+    public static final String LOCK_QUEUE_FULL = "처리 대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.";
+    public static final String INVALID_IDEMPOTENCY_KEY = String.format("Idempotency-Key는 1자 이상 %d자 이하이어야 합니다.", IdempotencyCache.MAX_KEY_LENGTH);
+    public static final String IDEMPOTENCY_KEY_REUSED = "이미 다른 요청에 사용된 Idempotency-Key 입니다.";
+    public static final String INVALID_TIME_RANGE = "조회 시작 시각은 종료 시각보다 늦을 수 없습니다.";
+
+    /**
+     * 일괄 처리 최대 건수는 설정(point.batch.max-size)으로 정해지므로 상수 대신 건수를 받아 메시지를 만듭니다.
+     */
+    public static String exceedBatchSize(int maxSize) {
+        return String.format("일괄 처리 요청은 최대 %d건까지 가능합니다.", maxSize);
+    }
 }
@@ -0,0 +1,293 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 Idempotency-Key별 처리 결과 캐시
+ * <ul>
+ *     <li> 같은 유저의 같은 키로 다시 요청하면 다시 처리하지 않고 처음 요청의 결과(성공한 UserPoint 또는 실패 예외)를 그대로 반환합니다.</li>
+ *     <li> 처음 요청이 아직 처리 중이라면 유저 락을 다시 기다리지 않고 그 요청의 결과를 기다립니다.</li>
+ *     <li> 같은 키를 다른 구분(충전/사용)이나 포인트로 다시 사용하면 거절합니다.</li>
+ *     <li> PointBusyException으로 거절된 요청은 처리되지 않았으므로 결과를 남기지 않아 같은 키로 다시 시도할 수 있습니다.</li>
+ *     <li> 키를 기준으로 세그먼트를 나누고, 세그먼트마다 들어온 순서대로 ttl이 지난 항목과 최대 크기를 넘는 항목을 제거합니다.
+ *     처리가 끝난 항목만 제거하므로, 처리 중인 요청의 중복 요청은 항상 그 결과를 기다립니다.</li>
+ *     <li> 처리가 끝난 항목은 대기용 CompletableFuture를 버리고 결과만 보관합니다.</li>
+ * </ul>
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final int SEGMENT_COUNT = 16;
+    // 항목 하나의 고정 크기 (LinkedHashMap.Entry, Key, String, Entry, UserPoint, compressed oops 기준)
+    private static final long ENTRY_OVERHEAD_BYTES = 40 + 24 + 24 + 16 + 40 + 32;
+
+    private final long ttlNanos;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder sizeEvictionCount = new LongAdder();
+    private final LongAdder expiredEvictionCount = new LongAdder();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    public IdempotencyCache(IdempotencyProperties idempotencyProperties) {
+        this.ttlNanos = idempotencyProperties.ttl().toNanos();
+        int segmentMaxSize = Math.max(1, (idempotencyProperties.maxSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    /**
+     * 키에 해당하는 처리 결과가 있다면 반환하고, 없다면 operation을 실행한 뒤 결과를 남깁니다.
+     *
+     * @param idempotencyKey 클라이언트가 보낸 Idempotency-Key
+     * @param userId         유저id
+     * @param type           충전/사용 구분
+     * @param amount         충전/사용 포인트
+     * @param operation      처음 요청일 때 실행할 충전/사용
+     * @return 처음 요청의 처리 결과
+     * @throws InvalidPointRequestException 키가 올바르지 않거나 다른 구분/포인트의 요청에 사용된 키인 경우 (400 응답)
+     */
+    public UserPoint execute(String idempotencyKey, long userId, TransactionType type, long amount, Supplier<UserPoint> operation) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidPointRequestException(ErrorMessage.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Key key = new Key(userId, idempotencyKey);
+        Segment segment = segmentFor(key);
+        Entry created = new Entry(type, amount, System.nanoTime() + ttlNanos, ENTRY_OVERHEAD_BYTES + idempotencyKey.length());
+        Entry existing = segment.putIfAbsent(key, created);
+        if (existing != null) {
+            if (existing.type != type || existing.amount != amount) {
+                throw new InvalidPointRequestException(ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+            }
+            hitCount.increment();
+            return existing.await();
+        }
+
+        missCount.increment();
+        try {
+            UserPoint result = operation.get();
+            created.complete(result);
+            return result;
+        } catch (PointBusyException e) {
+            // 처리되지 않은 요청이므로 같은 키로 다시 시도할 수 있도록 결과를 남기지 않는다
+            segment.remove(key, created);
+            created.fail(e);
+            throw e;
+        } catch (Throwable e) {
+            // Error도 처리 여부를 알 수 없으므로 결과로 남겨, 기다리는 중복 요청이 끝나고 다시 처리되지 않게 한다
+            created.fail(e);
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hitCount.sum(), missCount.sum(), sizeEvictionCount.sum(), expiredEvictionCount.sum(),
+                size, estimatedBytes.get());
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * 멱등키 캐시 통계
+     *
+     * @param hitCount             이전 요청의 결과를 반환한 횟수 (처리 중인 요청을 기다린 경우 포함)
+     * @param missCount            새 요청으로 처리한 횟수
+     * @param sizeEvictionCount    최대 크기를 넘어 제거된 항목 수
+     * @param expiredEvictionCount ttl이 지나 제거된 항목 수
+     * @param size                 보관 중인 항목 수
+     * @param estimatedBytes       보관 중인 항목이 차지하는 대략적인 메모리(바이트)
+     */
+    public record Stats(
+            long hitCount,
+            long missCount,
+            long sizeEvictionCount,
+            long expiredEvictionCount,
+            long size,
+            long estimatedBytes
+    ) {
+    }
+
+    private record Key(long userId, String value) {
+    }
+
+    /**
+     * 요청 하나의 처리 상태
+     * 처리 중에는 inFlight로 결과를 기다리고, 처리가 끝나면 result 또는 failure(RuntimeException 또는 Error)만 남깁니다.
+     */
+    private static final class Entry {
+        private final TransactionType type;
+        private final long amount;
+        private final long expireAtNanos;
+        private final long bytes;
+        private volatile CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        private volatile UserPoint result;
+        private volatile Throwable failure;
+
+        private Entry(TransactionType type, long amount, long expireAtNanos, long bytes) {
+            this.type = type;
+            this.amount = amount;
+            this.expireAtNanos = expireAtNanos;
+            this.bytes = bytes;
+        }
+
+        private void complete(UserPoint userPoint) {
+            result = userPoint;
+            CompletableFuture<UserPoint> waiting = inFlight;
+            inFlight = null;
+            waiting.complete(userPoint);
+        }
+
+        private boolean isInFlight() {
+            return inFlight != null;
+        }
+
+        private void fail(Throwable e) {
+            failure = e;
+            CompletableFuture<UserPoint> waiting = inFlight;
+            inFlight = null;
+            waiting.completeExceptionally(e);
+        }
+
+        private UserPoint await() {
+            CompletableFuture<UserPoint> waiting = inFlight;
+            if (waiting != null) {
+                try {
+                    return waiting.join();
+                } catch (CompletionException e) {
+                    throw rethrow(e.getCause());
+                }
+            }
+            // 처리가 끝났다면 inFlight를 비우기 전에 결과가 먼저 기록되어 있다
+            if (failure != null) {
+                throw rethrow(failure);
+            }
+            return result;
+        }
+
+        private static RuntimeException rethrow(Throwable cause) {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 들어온 순서를 유지하는 LinkedHashMap 기반 세그먼트
+     * ttl이 모두 같으므로 가장 먼저 들어온 항목부터 만료됩니다.
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>();
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return 이미 처리되었거나 처리 중인 항목, 없다면 entry를 등록하고 null
+         */
+        private Entry putIfAbsent(Key key, Entry entry) {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                evictExpired(now);
+                Entry existing = map.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+
+                map.put(key, entry);
+                estimatedBytes.addAndGet(entry.bytes);
+                if (map.size() > maxSize) {
+                    evictEldestCompleted();
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(Key key, Entry entry) {
+            lock.lock();
+            try {
+                if (map.remove(key, entry)) {
+                    estimatedBytes.addAndGet(-entry.bytes);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 처리가 끝난 항목 중 가장 먼저 들어온 항목을 제거합니다. 모두 처리 중이라면 처리가 끝날 때까지 최대 크기를 넘어 보관합니다.
+         */
+        private void evictEldestCompleted() {
+            Iterator<Map.Entry<Key, Entry>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry eldest = iterator.next().getValue();
+                if (eldest.isInFlight()) {
+                    continue;
+                }
+                iterator.remove();
+                estimatedBytes.addAndGet(-eldest.bytes);
+                sizeEvictionCount.increment();
+                return;
+            }
+        }
+
+        private void evictExpired(long now) {
+            Iterator<Map.Entry<Key, Entry>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry eldest = iterator.next().getValue();
+                if (now - eldest.expireAtNanos < 0) {
+                    return;
+                }
+                if (eldest.isInFlight()) {
+                    // ttl보다 오래 처리 중인 요청은 끝날 때까지 남겨 중복 요청이 결과를 기다리게 한다
+                    continue;
+                }
+                iterator.remove();
+                estimatedBytes.addAndGet(-eldest.bytes);
+                expiredEvictionCount.increment();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
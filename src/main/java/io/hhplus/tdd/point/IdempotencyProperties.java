@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 충전/사용 멱등키 설정 (point.idempotency.*)
+ *
+ * @param maxSize 보관할 최대 멱등키 수 (넘으면 오래된 키부터 제거)
+ * @param ttl     처리 결과를 보관하는 시간, 이 시간이 지난 뒤 같은 키로 요청하면 새 요청으로 처리
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("10m") Duration ttl
+) {
+    public IdempotencyProperties {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize는 1 이상이어야 합니다.");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl은 0보다 커야 합니다.");
+        }
+    }
+}
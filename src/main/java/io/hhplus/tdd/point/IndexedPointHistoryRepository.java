@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 유저별 내역 인덱스와 종류별 집계를 직접 유지하는 내역 저장소
+ * PointHistoryStore는 이 저장소의 인덱스로 조회하고, 유저별 PointHistory 배열을 따로 두지 않습니다.
+ */
+public interface IndexedPointHistoryRepository extends PointHistoryRepository {
+
+    /**
+     * 유저의 내역을 커서 이후부터 조건에 맞는 만큼만 읽어 한 페이지를 구성합니다.
+     *
+     * @param userId 유저id
+     * @param query  페이지 조회 조건
+     * @return PointHistoryPage
+     */
+    PointHistoryPage findPage(long userId, PointHistoryQuery query);
+
+    /**
+     * @param userId 유저id
+     * @return 저장된 내역의 종류별 집계 (내역이 없다면 PointHistorySummary.empty)
+     */
+    PointHistorySummary summarize(long userId);
+
+    /**
+     * 유저의 내역을 리스트로 복사하지 않고 id 오름차순으로 순회합니다.
+     */
+    void forEachByUserId(long userId, Consumer<PointHistory> action);
+
+    /**
+     * 내역이 저장된 유저의 id를 순회합니다.
+     */
+    void forEachUserId(LongConsumer action);
+}
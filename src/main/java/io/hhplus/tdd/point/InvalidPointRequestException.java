@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 조회 조건, 요청 크기, Idempotency-Key처럼 요청 자체가 올바르지 않아 처리를 시작하지 않은 경우 발생 (400 응답)
+ * 잔고 부족처럼 처리 중에 거절되는 경우와 구분하며, 기존과 같이 IllegalArgumentException으로도 다룰 수 있습니다.
+ */
+public class InvalidPointRequestException extends IllegalArgumentException {
+
+    public InvalidPointRequestException(String message) {
+        super(message);
+    }
+}
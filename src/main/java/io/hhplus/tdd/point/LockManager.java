@@ -2,25 +2,273 @@ package io.hhplus.tdd.point;
 
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * 특정 id에 대한 Lock을 개별 관리하며 Thread-Safe한 ConcurrentHashMap을 사용
+ * 특정 id에 대한 Lock을 관리
+ * <ul>
+ *     <li> PER_USER: id마다 ReentrantLock을 생성해 Thread-Safe한 ConcurrentHashMap에 보관합니다.</li>
+ *     <li> STRIPED: 고정 크기의 락 배열 중 id의 해시에 해당하는 락을 사용하므로 유저 수와 무관하게 메모리 사용량이 일정합니다.
+ *     서로 다른 유저가 같은 락을 공유할 수는 있지만, 같은 유저는 항상 같은 락을 사용하므로 유저별 상호 배제는 유지됩니다.</li>
+ * </ul>
+ * 두 모드 모두 락 획득 대기 시간과 보유 시간을 PointMetrics로 기록합니다.
+ * acquire는 설정된 대기 시간과 대기 요청 수를 넘으면 PointBusyException으로 요청을 거절합니다.
  */
 @Component
 public class LockManager {
-    private final ConcurrentHashMap<Long, Lock> lockMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, MeteredLock> lockMap = new ConcurrentHashMap<>();
+    private final LockProperties.Mode mode;
+    private final MeteredLock[] stripes;
+    private final PointMetrics pointMetrics;
+    private final long acquireTimeoutNanos;
+    private final int maxWaiters;
+
+    public LockManager(LockProperties lockProperties, PointMetrics pointMetrics) {
+        this.mode = lockProperties.mode();
+        this.pointMetrics = pointMetrics;
+        this.acquireTimeoutNanos = lockProperties.acquireTimeout().toNanos();
+        this.maxWaiters = lockProperties.maxWaiters();
+
+        int stripeCount = mode == LockProperties.Mode.STRIPED ? ceilingPowerOfTwo(lockProperties.stripes()) : 0;
+        this.stripes = new MeteredLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new MeteredLock(pointMetrics, i);
+        }
+    }
 
     /**
-     * 주어진 id에 대응하는 ReentrantLock을 반환하며,
-     * 해당 id에 대한 락이 없다면 새로운 ReentrantLock을 생성해 lockMap 추가 후 반환합니다.
+     * 주어진 id에 대응하는 Lock을 반환합니다.
+     * PER_USER 모드에서는 해당 id에 대한 락이 없다면 새로운 락을 생성해 lockMap 추가 후 반환하고,
+     * STRIPED 모드에서는 id의 해시로 고른 락을 반환합니다.
      *
      * @param id 유저id
      * @return Lock
      */
     public Lock getLock(Long id) {
-        return lockMap.computeIfAbsent(id, key -> new ReentrantLock());
+        return lockFor(id);
+    }
+
+    /**
+     * 주어진 id에 대응하는 Lock을 획득해 반환합니다. 호출한 쪽에서 unlock 해야 합니다.
+     * <ul>
+     *     <li> 이미 maxWaiters 개의 요청이 같은 락을 기다리고 있다면 기다리지 않고 바로 거절합니다.</li>
+     *     <li> acquireTimeout 안에 락을 얻지 못하면 거절합니다.</li>
+     * </ul>
+     *
+     * @param id 유저id
+     * @return 획득한 Lock
+     * @throws PointBusyException 대기열이 가득 찼거나 제한 시간 안에 락을 얻지 못한 경우
+     * @throws IllegalStateException 락을 기다리는 중 인터럽트된 경우 (인터럽트 상태는 유지됩니다)
+     */
+    public Lock acquire(Long id) {
+        MeteredLock lock = lockFor(id);
+        if (lock.tryLock()) {
+            return lock;
+        }
+
+        int waiting = lock.waiters.incrementAndGet();
+        if (maxWaiters > 0 && waiting > maxWaiters) {
+            lock.waiters.decrementAndGet();
+            pointMetrics.recordLockQueueFull();
+            throw new PointBusyException(ErrorMessage.LOCK_QUEUE_FULL);
+        }
+        try {
+            if (acquireTimeoutNanos == 0) {
+                lock.lock();
+                return lock;
+            }
+            if (lock.tryLock(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return lock;
+            }
+        } catch (InterruptedException e) {
+            // 과부하로 거절된 것이 아니므로 타임아웃으로 세지 않고 인터럽트 상태를 되살려 그대로 알린다
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("유저 락 대기 중 인터럽트가 발생했습니다.", e);
+        } finally {
+            lock.waiters.decrementAndGet();
+        }
+        pointMetrics.recordLockTimeout();
+        throw new PointBusyException(ErrorMessage.LOCK_WAIT_TIMEOUT);
+    }
+
+    private MeteredLock lockFor(long id) {
+        if (mode == LockProperties.Mode.STRIPED) {
+            return stripes[stripeIndex(id)];
+        }
+        return lockMap.computeIfAbsent(id, key -> new MeteredLock(pointMetrics, -1));
+    }
+
+    /**
+     * STRIPED 모드에서 경합이 많았던 순서로 락 통계를 반환합니다.
+     *
+     * @param limit 반환할 최대 개수
+     * @return 락별 획득/경합 통계
+     */
+    public List<StripeStats> topContendedStripes(int limit) {
+        List<StripeStats> stats = new ArrayList<>(stripes.length);
+        for (MeteredLock stripe : stripes) {
+            stats.add(stripe.stats());
+        }
+        stats.sort(Comparator.comparingLong(StripeStats::contentions).reversed());
+        return stats.subList(0, Math.min(limit, stats.size()));
+    }
+
+    /**
+     * @return STRIPED 모드에서 모든 락의 누적 경합 횟수 (PER_USER는 0)
+     */
+    public long totalContentions() {
+        long total = 0;
+        for (MeteredLock stripe : stripes) {
+            total += stripe.contentions.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return 관리 중인 락 개수 (PER_USER는 생성된 유저 락 수, STRIPED는 고정된 락 배열 크기)
+     */
+    public int lockCount() {
+        return mode == LockProperties.Mode.STRIPED ? stripes.length : lockMap.size();
+    }
+
+    private int stripeIndex(long id) {
+        // 연속된 id가 인접한 락에 몰리지 않도록 비트를 섞는다 (MurmurHash3 fmix64)
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & (stripes.length - 1);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 락별 통계
+     *
+     * @param stripe       락 번호
+     * @param acquisitions 락 획득 횟수
+     * @param contentions  다른 스레드가 잡고 있어 기다려야 했던 횟수
+     * @param waitNanos    락을 기다린 누적 시간
+     */
+    public record StripeStats(
+            int stripe,
+            long acquisitions,
+            long contentions,
+            long waitNanos
+    ) {
+    }
+
+    /**
+     * 대기/보유 시간을 지표로 기록하는 ReentrantLock 래퍼
+     * STRIPED 모드에서는 락별 획득/경합 횟수와 누적 대기 시간도 함께 기록합니다.
+     */
+    private static final class MeteredLock implements Lock {
+        private final ReentrantLock delegate = new ReentrantLock();
+        private final PointMetrics pointMetrics;
+        private final int stripe;
+        private final LongAdder acquisitions;
+        private final LongAdder contentions;
+        private final LongAdder waitNanos;
+        private final AtomicInteger waiters = new AtomicInteger(); // acquire로 락을 기다리는 요청 수
+        private long heldSince; // 락을 잡은 스레드만 읽고 쓴다
+
+        private MeteredLock(PointMetrics pointMetrics, int stripe) {
+            this.pointMetrics = pointMetrics;
+            this.stripe = stripe;
+            boolean striped = stripe >= 0;
+            this.acquisitions = striped ? new LongAdder() : null;
+            this.contentions = striped ? new LongAdder() : null;
+            this.waitNanos = striped ? new LongAdder() : null;
+        }
+
+        @Override
+        public void lock() {
+            if (delegate.tryLock()) {
+                acquired(0, false);
+                return;
+            }
+            long startedAt = System.nanoTime();
+            delegate.lock();
+            acquired(System.nanoTime() - startedAt, true);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (tryLock()) {
+                return;
+            }
+            long startedAt = System.nanoTime();
+            delegate.lockInterruptibly();
+            acquired(System.nanoTime() - startedAt, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            boolean acquired = delegate.tryLock();
+            if (acquired) {
+                acquired(0, false);
+            }
+            return acquired;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (tryLock()) {
+                return true;
+            }
+            long startedAt = System.nanoTime();
+            boolean acquired = delegate.tryLock(time, unit);
+            if (acquired) {
+                acquired(System.nanoTime() - startedAt, true);
+            } else if (contentions != null) {
+                contentions.increment();
+                waitNanos.add(System.nanoTime() - startedAt);
+            }
+            return acquired;
+        }
+
+        @Override
+        public void unlock() {
+            if (delegate.getHoldCount() == 1) {
+                pointMetrics.recordLockHold(System.nanoTime() - heldSince);
+            }
+            delegate.unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            return delegate.newCondition();
+        }
+
+        private void acquired(long waited, boolean contended) {
+            if (delegate.getHoldCount() == 1) {
+                heldSince = System.nanoTime();
+            }
+            pointMetrics.recordLockWait(waited);
+            if (acquisitions != null) {
+                acquisitions.increment();
+                if (contended) {
+                    contentions.increment();
+                    waitNanos.add(waited);
+                }
+            }
+        }
+
+        private StripeStats stats() {
+            return new StripeStats(stripe, acquisitions.sum(), contentions.sum(), waitNanos.sum());
+        }
     }
 }
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저 락 설정 (point.lock.*)
+ *
+ * @param mode           락 관리 방식
+ * @param stripes        STRIPED 모드에서 사용할 락 개수 (2의 거듭제곱으로 올림)
+ * @param acquireTimeout 락 획득을 기다리는 최대 시간 (0이면 획득할 때까지 대기)
+ * @param maxWaiters     락 하나를 기다릴 수 있는 최대 요청 수 (0이면 제한 없음)
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record LockProperties(
+        @DefaultValue("PER_USER") Mode mode,
+        @DefaultValue("4096") int stripes,
+        @DefaultValue("0s") Duration acquireTimeout,
+        @DefaultValue("0") int maxWaiters
+) {
+    public LockProperties {
+        if (stripes < 1 || stripes > (1 << 30)) {
+            throw new IllegalArgumentException("stripes는 1 이상 2^30 이하이어야 합니다.");
+        }
+        if (acquireTimeout.isNegative() || maxWaiters < 0) {
+            throw new IllegalArgumentException("acquireTimeout과 maxWaiters는 0 이상이어야 합니다.");
+        }
+    }
+
+    /**
+     * 락 관리 방식
+     * - PER_USER : 유저마다 ReentrantLock을 생성 (유저 수만큼 메모리 사용)
+     * - STRIPED : 고정 개수의 락 배열에 유저를 배정 (유저 수와 무관한 메모리 사용)
+     */
+    public enum Mode {
+        PER_USER, STRIPED
+    }
+}
@@ -0,0 +1,217 @@
+package io.hhplus.tdd.point;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저id(long) → 잔고와 수정 시각을 하나의 long으로 묶은 값을 보관하는 동시성 open-addressing 맵
+ * <ul>
+ *     <li> 키와 값을 long[] 배열에 그대로 저장하므로 Long 박싱, 엔트리 노드, UserPoint 객체를 만들지 않습니다.</li>
+ *     <li> 값은 하위 21비트에 잔고, 그 위 42비트에 수정 시각(ms)을 담아(pack) 한 번의 쓰기로 두 값을 함께 바꿉니다.
+ *     부호 비트는 쓰지 않으므로 pack한 값은 항상 0 이상입니다.</li>
+ *     <li> 키 해시로 세그먼트를 나누고, 쓰기(추가/변경/확장)는 세그먼트 락으로 직렬화합니다.
+ *     읽기는 락 없이 값 → 키 순서로 읽으며, 값은 키를 쓴 뒤 release로 게시하므로 채워진 슬롯의 키는 항상 보입니다.</li>
+ *     <li> 잔고는 삭제하지 않으므로 삭제 표시(tombstone)가 없고, 부하율이 0.5를 넘으면 세그먼트 테이블을 두 배로 늘립니다.</li>
+ * </ul>
+ */
+public class LongBalanceMap {
+
+    /**
+     * 값이 없음을 뜻하는 반환값 (pack한 값은 항상 0 이상)
+     */
+    public static final long ABSENT = -1L;
+    public static final long MAX_POINT = (1L << 21) - 1;
+    public static final long MAX_MILLIS = (1L << 42) - 1; // 2109년
+
+    private static final int POINT_BITS = 21;
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SEGMENT_COUNT = 16;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public LongBalanceMap() {
+        this(SEGMENT_COUNT * INITIAL_SEGMENT_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize 확장 없이 담을 수 있는 유저 수
+     */
+    public LongBalanceMap(int expectedSize) {
+        int segmentCapacity = ceilingPowerOfTwo(Math.max(INITIAL_SEGMENT_CAPACITY, expectedSize * 2 / SEGMENT_COUNT));
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public static long pack(long point, long updateMillis) {
+        if (point < 0 || point > MAX_POINT) {
+            throw new IllegalArgumentException("저장할 수 없는 잔고입니다: " + point);
+        }
+        if (updateMillis < 0 || updateMillis > MAX_MILLIS) {
+            throw new IllegalArgumentException("저장할 수 없는 시각입니다: " + updateMillis);
+        }
+        return updateMillis << POINT_BITS | point;
+    }
+
+    public static long point(long packed) {
+        return packed & MAX_POINT;
+    }
+
+    public static long updateMillis(long packed) {
+        return packed >>> POINT_BITS;
+    }
+
+    /**
+     * @return pack된 값, 없다면 ABSENT
+     */
+    public long get(long id) {
+        long hash = hash(id);
+        return segmentFor(hash).get(id, hash);
+    }
+
+    /**
+     * @param packed pack(point, updateMillis)로 만든 값
+     */
+    public void put(long id, long packed) {
+        if (packed < 0) {
+            throw new IllegalArgumentException("pack된 값이 아닙니다: " + packed);
+        }
+        long hash = hash(id);
+        segmentFor(hash).put(id, hash, packed);
+    }
+
+    /**
+     * @return 저장된 유저 수
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return 키/값 배열이 차지하는 크기(바이트), 비어있는 슬롯과 배열 헤더 포함
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += 2 * (16 + (long) Long.BYTES * segment.table.keys.length);
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static long hash(long id) {
+        // 연속된 id가 인접한 슬롯에 몰리지 않도록 비트를 섞는다 (MurmurHash3 fmix64)
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 같은 길이의 키/값 배열 (값이 ABSENT인 슬롯은 비어있음)
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final long[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            Arrays.fill(values, ABSENT);
+        }
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table;
+        private volatile int size;
+
+        private Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        private long get(long id, long hash) {
+            Table current = table;
+            int mask = current.keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                long value = (long) LONGS.getAcquire(current.values, slot);
+                if (value == ABSENT) {
+                    return ABSENT;
+                }
+                if (current.keys[slot] == id) {
+                    return value;
+                }
+            }
+        }
+
+        private void put(long id, long hash, long packed) {
+            lock.lock();
+            try {
+                Table current = table;
+                int mask = current.keys.length - 1;
+                int slot = (int) hash & mask;
+                while (current.values[slot] != ABSENT) {
+                    if (current.keys[slot] == id) {
+                        LONGS.setRelease(current.values, slot, packed);
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+
+                if ((size + 1) * 2 > current.keys.length) {
+                    current = resize(current);
+                    table = current;
+                    mask = current.keys.length - 1;
+                    slot = (int) hash & mask;
+                    while (current.values[slot] != ABSENT) {
+                        slot = (slot + 1) & mask;
+                    }
+                }
+                current.keys[slot] = id;
+                LONGS.setRelease(current.values, slot, packed);
+                size = size + 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 새 테이블에 모두 옮긴 뒤 게시하므로, 확장 중에도 읽기는 기존 테이블에서 온전한 값을 읽습니다.
+         */
+        private static Table resize(Table current) {
+            Table resized = new Table(current.keys.length * 2);
+            int mask = resized.keys.length - 1;
+            for (int i = 0; i < current.keys.length; i++) {
+                long value = current.values[i];
+                if (value == ABSENT) {
+                    continue;
+                }
+                long key = current.keys[i];
+                int slot = (int) hash(key) & mask;
+                while (resized.values[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                resized.keys[slot] = key;
+                resized.values[slot] = value;
+            }
+            return resized;
+        }
+    }
+}
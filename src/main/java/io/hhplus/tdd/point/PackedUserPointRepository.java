@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import java.util.Collection;
+
+/**
+ * LongBalanceMap에 잔고를 보관하는 메모리 잔고 저장소 (point.storage.balance=packed)
+ * UserPointTable과 같은 방식으로 동작하지만 임의 지연이 없고, 저장 시 Long 키나 UserPoint를 보관하지 않습니다.
+ * 조회/저장 결과로 반환하는 UserPoint는 호출자에게 넘겨줄 때만 만들어집니다.
+ */
+public class PackedUserPointRepository implements PointRepository {
+
+    private final LongBalanceMap balances = new LongBalanceMap();
+
+    @Override
+    public UserPoint selectById(long id) {
+        long packed = balances.get(id);
+        if (packed == LongBalanceMap.ABSENT) {
+            return UserPoint.empty(id);
+        }
+        return new UserPoint(id, LongBalanceMap.point(packed), LongBalanceMap.updateMillis(packed));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long point) {
+        long updateMillis = System.currentTimeMillis();
+        balances.put(id, LongBalanceMap.pack(point, updateMillis));
+        return new UserPoint(id, point, updateMillis);
+    }
+
+    @Override
+    public void restore(Collection<UserPoint> userPoints) {
+        userPoints.forEach(userPoint -> balances.put(userPoint.id(), LongBalanceMap.pack(userPoint.point(), userPoint.updateMillis())));
+    }
+
+    /**
+     * 저장소 자체가 락 없이 읽히는 메모리 구조이므로 캐시를 두지 않습니다.
+     */
+    @Override
+    public boolean cacheable() {
+        return false;
+    }
+
+    /**
+     * @return 저장된 유저 수
+     */
+    public int size() {
+        return balances.size();
+    }
+
+    /**
+     * @return 잔고 보관에 사용 중인 배열 크기(바이트)
+     */
+    public long footprintBytes() {
+        return balances.footprintBytes();
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 비동기 기록 대기 중인 포인트 내역
+ *
+ * @param sequence 대기열에 들어온 순서
+ */
+public record PendingPointHistory(
+        long sequence,
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+    /**
+     * 아직 테이블에 기록되지 않아 id가 부여되지 않은 내역이므로 id는 0 입니다.
+     */
+    public PointHistory toPointHistory() {
+        return new PointHistory(0L, userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,182 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 단일 스레드 메일박스로 충전/사용을 처리하는 실행기 (point.write.mode=actor)
+ * <ul>
+ *     <li> 유저 id의 해시로 고른 메일박스 하나가 해당 유저의 모든 충전/사용을 도착 순서대로 처리합니다.</li>
+ *     <li> 같은 유저의 요청은 항상 같은 스레드에서 실행되므로 락 없이 직렬화되고, 락을 넘겨주는 비용과 대기 스레드의 문맥 전환이 없습니다.</li>
+ *     <li> 메일박스가 가득 차면 PointBusyException으로 요청을 거절합니다.</li>
+ *     <li> 작업 중 Error가 발생해도 해당 요청만 실패로 완료하고 메일박스의 다음 요청을 계속 처리합니다.</li>
+ *     <li> 종료 시 shutdownTimeout까지 남은 작업을 처리하고, 그 뒤에도 메일박스에 남은 작업은 IllegalStateException으로 완료합니다.</li>
+ * </ul>
+ */
+@Component
+public class PointActorExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PointActorExecutor.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    private static final String SHUT_DOWN = "포인트 처리기가 종료되어 요청을 처리하지 못했습니다.";
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryAppender pointHistoryAppender;
+    private final PointMetrics pointMetrics;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PointTask>[] mailboxes;
+    private final Thread[] workers;
+    private volatile boolean running = true;
+    private volatile boolean aborted;
+
+    @SuppressWarnings("unchecked")
+    public PointActorExecutor(UserPointCache userPointCache, PointHistoryAppender pointHistoryAppender,
+                              PointWriteProperties writeProperties, PointMetrics pointMetrics,
+                              PointThreadFactory pointThreadFactory) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryAppender = pointHistoryAppender;
+        this.pointMetrics = pointMetrics;
+        this.shutdownTimeout = writeProperties.actor().shutdownTimeout();
+
+        int mailboxCount = writeProperties.mode() == PointWriteMode.ACTOR ? writeProperties.actor().mailboxes() : 0;
+        this.mailboxes = new BlockingQueue[mailboxCount];
+        this.workers = new Thread[mailboxCount];
+        for (int i = 0; i < mailboxCount; i++) {
+            BlockingQueue<PointTask> mailbox = new ArrayBlockingQueue<>(writeProperties.actor().mailboxCapacity());
+            mailboxes[i] = mailbox;
+            workers[i] = pointThreadFactory.start("point-actor-" + i, () -> process(mailbox));
+        }
+    }
+
+    /**
+     * @return 충전 직후 UserPoint로 완료되는 CompletableFuture
+     * @throws PointBusyException 유저의 메일박스가 가득 찬 경우
+     */
+    public CompletableFuture<UserPoint> charge(long id, long amount) {
+        return submit(new PointTask(id, TransactionType.CHARGE, amount));
+    }
+
+    /**
+     * @return 사용 직후 UserPoint로 완료되는 CompletableFuture
+     * @throws PointBusyException 유저의 메일박스가 가득 찬 경우
+     */
+    public CompletableFuture<UserPoint> use(long id, long amount) {
+        return submit(new PointTask(id, TransactionType.USE, amount));
+    }
+
+    /**
+     * @return 메일박스별 대기 중인 작업 수
+     */
+    public int[] queueDepths() {
+        int[] depths = new int[mailboxes.length];
+        for (int i = 0; i < mailboxes.length; i++) {
+            depths[i] = mailboxes[i].size();
+        }
+        return depths;
+    }
+
+    /**
+     * 새 요청을 받지 않고, 대기 중인 작업을 shutdownTimeout 동안 처리한 뒤 종료합니다.
+     * 시간 안에 처리하지 못한 작업은 실행하지 않고 IllegalStateException으로 완료해, 결과를 기다리는 요청이 끝나지 않는 일이 없도록 합니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            worker.join(Math.max(1L, remainingMillis));
+        }
+        aborted = true;
+        for (Thread worker : workers) {
+            worker.join(POLL_TIMEOUT_MILLIS);
+        }
+
+        int rejected = 0;
+        for (BlockingQueue<PointTask> mailbox : mailboxes) {
+            PointTask task;
+            while ((task = mailbox.poll()) != null) {
+                task.result.completeExceptionally(new IllegalStateException(SHUT_DOWN));
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.warn("종료 시간 안에 처리하지 못한 포인트 요청이 있습니다: {}건", rejected);
+        }
+    }
+
+    private CompletableFuture<UserPoint> submit(PointTask task) {
+        if (mailboxes.length == 0 || !running) {
+            throw new IllegalStateException("ACTOR 모드가 아니거나 종료 중입니다.");
+        }
+        BlockingQueue<PointTask> mailbox = mailboxes[Math.floorMod(Long.hashCode(task.userId), mailboxes.length)];
+        if (!mailbox.offer(task)) {
+            throw new PointBusyException(ErrorMessage.LOCK_QUEUE_FULL);
+        }
+        // 확인 이후 종료가 시작되어 메일박스를 비운 뒤에 들어갔다면, 아무도 처리하지 않으므로 되돌린다
+        if (!running && mailbox.remove(task)) {
+            throw new IllegalStateException("ACTOR 모드가 아니거나 종료 중입니다.");
+        }
+        return task.result;
+    }
+
+    private void process(BlockingQueue<PointTask> mailbox) {
+        while ((running || !mailbox.isEmpty()) && !aborted) {
+            PointTask task;
+            try {
+                task = mailbox.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+
+            long startedAt = System.nanoTime();
+            try {
+                task.result.complete(apply(task));
+            } catch (RuntimeException e) {
+                task.result.completeExceptionally(e);
+            } catch (Throwable e) {
+                // Error로 작업 스레드가 끝나면 같은 메일박스의 이후 요청이 영원히 완료되지 않으므로, 실패로 완료하고 계속 처리한다
+                log.error("포인트 요청 처리 중 오류가 발생했습니다: userId={}", task.userId, e);
+                task.result.completeExceptionally(e);
+            }
+            pointMetrics.recordActorTask(startedAt - task.enqueuedAt, System.nanoTime() - startedAt);
+        }
+    }
+
+    private UserPoint apply(PointTask task) {
+        UserPoint userPoint = userPointCache.selectById(task.userId);
+        UserPoint updated = switch (task.type) {
+            case CHARGE -> userPoint.charge(task.amount);
+            case USE -> userPoint.use(task.amount);
+        };
+        userPointCache.insertOrUpdate(updated.id(), updated.point());
+        pointHistoryAppender.append(task.userId, task.amount, task.type, updated.updateMillis());
+        return updated;
+    }
+
+    private static final class PointTask {
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private PointTask(long userId, TransactionType type, long amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+}
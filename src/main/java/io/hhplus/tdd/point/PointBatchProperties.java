@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 일괄 충전/사용 설정 (point.batch.*)
+ *
+ * @param maxSize     한 번에 요청할 수 있는 최대 항목 수
+ * @param parallelism 동시에 처리할 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.batch")
+public record PointBatchProperties(
+        @DefaultValue("1000") int maxSize,
+        @DefaultValue("8") int parallelism
+) {
+    public PointBatchProperties {
+        if (maxSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("maxSize와 parallelism은 1 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 충전/사용 요청 항목
+ *
+ * @param userId 유저id
+ * @param type   충전/사용 구분
+ * @param amount 충전/사용할 포인트
+ */
+public record PointBatchRequest(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+    public PointBatchRequest {
+        if (type == null) {
+            throw new NullPointerException(ErrorMessage.INVALID_TRANSACTION_TYPE);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 충전/사용 요청 항목별 처리 결과
+ *
+ * @param userId    유저id
+ * @param type      충전/사용 구분
+ * @param amount    충전/사용할 포인트
+ * @param userPoint 처리 직후 UserPoint (실패 시 null)
+ * @param error     실패 사유 (성공 시 null)
+ */
+public record PointBatchResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+    public static PointBatchResult success(PointBatchRequest request, UserPoint userPoint) {
+        return new PointBatchResult(request.userId(), request.type(), request.amount(), userPoint, null);
+    }
+
+    public static PointBatchResult failure(PointBatchRequest request, RuntimeException e) {
+        String code = e instanceof IllegalArgumentException ? "400"
+                : e instanceof PointBusyException ? "429"
+                : "500";
+        return new PointBatchResult(request.userId(), request.type(), request.amount(), null, new ErrorResponse(code, e.getMessage()));
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
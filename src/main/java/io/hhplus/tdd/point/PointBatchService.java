@@ -0,0 +1,191 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 여러 유저의 포인트 조회, 충전/사용 요청을 한 번에 처리
+ * <ul>
+ *     <li> 요청을 유저별로 나누어 서로 다른 유저는 병렬로, 같은 유저는 요청 순서대로 처리합니다.</li>
+ *     <li> 같은 유저의 요청은 유저 락을 한 번만 잡고 하나의 UserPoint에 순서대로 적용한 뒤 insertOrUpdate 한 번으로 저장합니다.</li>
+ *     <li> 검증에 실패한 항목은 해당 항목만 실패로 응답하고 나머지 항목은 계속 처리합니다.</li>
+ *     <li> 유저 락을 얻지 못한 유저는 그 유저의 항목만 실패(429)로 응답하고 다른 유저의 결과는 그대로 반환합니다.</li>
+ *     <li> 충전/사용 항목마다 point.operation 지표를 남기며, 같은 유저의 항목은 함께 처리되므로 그 유저의 항목을 모두 처리한 시간을 기록합니다.</li>
+ *     <li> 여러 유저의 포인트 조회는 캐시된 항목을 먼저 채우고, 캐시에 없는 유저만 병렬로 UserPointTable에서 조회합니다.</li>
+ * </ul>
+ */
+@Service
+public class PointBatchService {
+
+    private final UserPointCache userPointCache;
+    private final PointGroupCommitter pointGroupCommitter;
+    private final CasBalanceEngine casBalanceEngine;
+    private final PointActorExecutor pointActorExecutor;
+    private final PointWriteProperties writeProperties;
+    private final PointMetrics pointMetrics;
+    private final int maxSize;
+    private final ExecutorService executor;
+
+    public PointBatchService(UserPointCache userPointCache, PointGroupCommitter pointGroupCommitter,
+                             CasBalanceEngine casBalanceEngine, PointActorExecutor pointActorExecutor,
+                             PointWriteProperties writeProperties, PointMetrics pointMetrics,
+                             PointBatchProperties batchProperties, PointThreadFactory pointThreadFactory) {
+        this.userPointCache = userPointCache;
+        this.pointGroupCommitter = pointGroupCommitter;
+        this.casBalanceEngine = casBalanceEngine;
+        this.pointActorExecutor = pointActorExecutor;
+        this.writeProperties = writeProperties;
+        this.pointMetrics = pointMetrics;
+        this.maxSize = batchProperties.maxSize();
+        this.executor = Executors.newFixedThreadPool(batchProperties.parallelism(), pointThreadFactory.threadFactory("point-batch-"));
+    }
+
+    /**
+     * @param requests 충전/사용 요청 목록
+     * @return 요청 순서와 같은 순서의 항목별 처리 결과
+     */
+    public List<PointBatchResult> execute(List<PointBatchRequest> requests) {
+        if (requests.size() > maxSize) {
+            throw new InvalidPointRequestException(ErrorMessage.exceedBatchSize(maxSize));
+        }
+
+        // 유저별 요청 위치를 요청 순서대로 모은다
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            indexesByUser.computeIfAbsent(requests.get(i).userId(), key -> new ArrayList<>()).add(i);
+        }
+
+        PointBatchResult[] results = new PointBatchResult[requests.size()];
+        CompletableFuture<?>[] futures = indexesByUser.entrySet().stream()
+                .map(entry -> CompletableFuture.runAsync(() -> {
+                    List<PointBatchRequest> userRequests = entry.getValue().stream().map(requests::get).toList();
+                    List<PointBatchResult> userResults = executeForUserOrFail(entry.getKey(), userRequests);
+                    for (int i = 0; i < userResults.size(); i++) {
+                        results[entry.getValue().get(i)] = userResults.get(i);
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @param ids 조회할 유저id 목록 (중복된 id는 한 번만 조회)
+     * @return 중복을 제거한 id 순서대로의 UserPoint 목록
+     */
+    public List<UserPoint> getPoints(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > maxSize) {
+            throw new InvalidPointRequestException(ErrorMessage.exceedBatchSize(maxSize));
+        }
+
+        UserPoint[] results = new UserPoint[distinctIds.size()];
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        boolean cas = writeProperties.mode() == PointWriteMode.CAS;
+        for (int i = 0; i < distinctIds.size(); i++) {
+            long id = distinctIds.get(i);
+            // CAS 모드에서는 메모리상의 잔고가 기준이므로 캐시를 거치지 않는다
+            UserPoint cached = cas ? null : userPointCache.getIfPresent(id);
+            if (cached != null) {
+                results[i] = cached;
+                continue;
+            }
+
+            int index = i;
+            futures.add(CompletableFuture.runAsync(
+                    () -> results[index] = cas ? casBalanceEngine.get(id) : userPointCache.selectById(id), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 유저 락을 얻지 못하는 등 유저 단위로 실패하면 그 유저의 항목만 모두 실패로 응답합니다.
+     * 다른 유저의 항목은 이미 저장되었을 수 있으므로, 배치 전체를 실패시키면 재시도한 클라이언트가 같은 요청을 두 번 반영하게 됩니다.
+     */
+    private List<PointBatchResult> executeForUserOrFail(long userId, List<PointBatchRequest> requests) {
+        long startedAt = System.nanoTime();
+        List<PointBatchResult> results;
+        try {
+            results = executeForUser(userId, requests);
+        } catch (RuntimeException e) {
+            results = requests.stream().map(request -> PointBatchResult.failure(request, e)).toList();
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        for (PointBatchResult result : results) {
+            pointMetrics.recordOperation(result.type(), result.isSuccess(), elapsedNanos);
+        }
+        return results;
+    }
+
+    private List<PointBatchResult> executeForUser(long userId, List<PointBatchRequest> requests) {
+        return switch (writeProperties.mode()) {
+            case LOCK, GROUP_COMMIT -> pointGroupCommitter.commitAll(userId, requests);
+            // CAS 모드에서는 메모리상의 잔고가 기준이므로 잔고 엔진을 통해 순서대로 적용한다
+            case CAS -> executeInOrder(requests, request -> switch (request.type()) {
+                case CHARGE -> casBalanceEngine.charge(userId, request.amount());
+                case USE -> casBalanceEngine.use(userId, request.amount());
+            });
+            case ACTOR -> executeOnMailbox(userId, requests);
+        };
+    }
+
+    private List<PointBatchResult> executeInOrder(List<PointBatchRequest> requests, Function<PointBatchRequest, UserPoint> operation) {
+        List<PointBatchResult> results = new ArrayList<>(requests.size());
+        for (PointBatchRequest request : requests) {
+            try {
+                results.add(PointBatchResult.success(request, operation.apply(request)));
+            } catch (RuntimeException e) {
+                results.add(PointBatchResult.failure(request, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * ACTOR 모드에서는 유저의 요청을 모두 메일박스에 넣은 뒤 결과를 모읍니다. 같은 메일박스는 넣은 순서대로 처리합니다.
+     */
+    private List<PointBatchResult> executeOnMailbox(long userId, List<PointBatchRequest> requests) {
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>(requests.size());
+        for (PointBatchRequest request : requests) {
+            try {
+                futures.add(switch (request.type()) {
+                    case CHARGE -> pointActorExecutor.charge(userId, request.amount());
+                    case USE -> pointActorExecutor.use(userId, request.amount());
+                });
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<PointBatchResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                results.add(PointBatchResult.success(requests.get(i), futures.get(i).join()));
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+                results.add(PointBatchResult.failure(requests.get(i), cause));
+            }
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 한 유저에게 요청이 몰려 제한 시간 안에 유저 락을 얻지 못했거나 대기열이 가득 찬 경우 발생
+ * 요청을 무한정 기다리게 하지 않고 빠르게 거절해 다른 유저의 요청이 스레드를 확보할 수 있도록 합니다.
+ */
+public class PointBusyException extends RuntimeException {
+
+    public PointBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,474 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 충전/사용 커밋 로그 (point.commit-log.enabled=true)
+ * <ul>
+ *     <li> 잔고 저장에 성공한 충전/사용마다, 응답하기 전에 고정 길이 레코드(PointCommitLogRecord)를 메모리 매핑된 세그먼트 파일에 이어서 기록합니다.
+ *     잔고보다 먼저 기록하는 write-ahead log가 아니므로, 로그에는 저장에 성공한 충전/사용만 남습니다.</li>
+ *     <li> 세그먼트가 가득 차면 동기화 후 첫 레코드의 순번을 이름으로 하는 새 세그먼트로 교체합니다.</li>
+ *     <li> 동기화 스레드가 syncInterval마다 그동안 쌓인 기록을 한 번에 fsync 하며(group fsync),
+ *     syncOnAppend면 기록한 스레드는 자신의 레코드가 동기화될 때까지 기다립니다.</li>
+ *     <li> 동기화에 실패하면 로그를 닫고, 동기화를 기다리던 스레드와 이후의 기록은 모두 IllegalStateException으로 실패합니다.</li>
+ *     <li> 종료 시 진행 중인 기록이 끝난 뒤 마지막으로 동기화하며, 그 뒤에도 동기화되지 않은 레코드를 기다리는 스레드는 IllegalStateException으로 깨웁니다.</li>
+ *     <li> 시작 시 마지막 세그먼트에서 유효한 마지막 레코드 뒤부터 이어서 기록하며, 기록 도중 끊긴 레코드는 덮어씁니다.</li>
+ *     <li> archive로 오래된 레코드를 보관 파일(PointCommitLogArchive)로 옮긴 뒤 해당 세그먼트를 지우며,
+ *     replay는 보관 파일과 남은 세그먼트를 이어서 읽으므로 세그먼트를 지워도 재생 결과는 같습니다.</li>
+ * </ul>
+ */
+@Component
+public class PointCommitLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PointCommitLog.class);
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ARCHIVE_FILE = "archive.dat";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000L;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+    private final boolean syncOnAppend;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private MappedByteBuffer segment;
+    private int position;
+    private long lastSequence;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private volatile long syncedSequence;
+    private volatile RuntimeException failure;
+    private volatile boolean running = true; // appendLock 안에서 바꾸므로, 락 안에서 true를 확인한 기록은 종료 시 마지막 동기화에 포함된다
+    private volatile boolean closed;
+    private final Thread syncer;
+
+    // replay는 읽기 락, 보관 파일로 옮기고 세그먼트를 지우는 archive는 쓰기 락을 잡는다
+    private final ReentrantReadWriteLock archiveLock = new ReentrantReadWriteLock();
+    private final PointCommitLogArchive archive;
+
+    public PointCommitLog(PointCommitLogProperties commitLogProperties, PointThreadFactory pointThreadFactory) {
+        this.enabled = commitLogProperties.enabled();
+        this.directory = commitLogProperties.directory();
+        this.segmentSize = (int) commitLogProperties.segmentSize().toBytes();
+        this.syncIntervalNanos = commitLogProperties.syncInterval().toNanos();
+        this.syncOnAppend = commitLogProperties.syncOnAppend();
+
+        if (!enabled) {
+            this.syncer = null;
+            this.archive = null;
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            openLastSegment();
+            this.archive = new PointCommitLogArchive(directory.resolve(ARCHIVE_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 로그를 열 수 없습니다: " + directory, e);
+        }
+        this.syncedSequence = lastSequence;
+        this.syncer = pointThreadFactory.start("point-commit-log-syncer", this::syncLoop);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 충전/사용 레코드를 기록합니다. syncOnAppend면 디스크에 동기화될 때까지 기다립니다.
+     *
+     * @return 기록된 레코드의 순번 (비활성화 상태면 0)
+     */
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!enabled) {
+            return 0;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("포인트 로그 동기화에 실패해 기록할 수 없습니다.", failure);
+        }
+        if (!running) {
+            throw new IllegalStateException("포인트 로그가 종료되었습니다.");
+        }
+
+        long sequence;
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("포인트 로그가 종료되었습니다.");
+            }
+            if (position + PointCommitLogRecord.BYTES > segment.capacity()) {
+                rotate();
+            }
+            sequence = lastSequence + 1;
+            new PointCommitLogRecord(sequence, userId, amount, type, updateMillis).writeTo(segment, position);
+            position += PointCommitLogRecord.BYTES;
+            lastSequence = sequence;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (syncOnAppend) {
+            awaitSynced(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * 보관 파일과 세그먼트를 순서대로 읽어 유효한 레코드를 전달합니다.
+     *
+     * @param afterSequence 이 순번 이하의 레코드는 건너뜀
+     * @param action        레코드를 받을 Consumer
+     * @return 마지막으로 전달한 레코드의 순번 (전달한 레코드가 없으면 afterSequence)
+     */
+    public long replay(long afterSequence, Consumer<PointCommitLogRecord> action) {
+        return replay(afterSequence, Long.MAX_VALUE, action);
+    }
+
+    /**
+     * afterSequence 다음부터 untilSequence까지의 레코드를 보관 파일, 세그먼트 순서로 이어서 전달합니다.
+     * afterSequence 이하의 레코드만 담긴 세그먼트는 읽지 않으므로 로그의 뒷부분만 재생할 때는 그만큼만 읽습니다.
+     *
+     * @param afterSequence 이 순번 이하의 레코드는 건너뜀
+     * @param untilSequence 이 순번보다 큰 레코드는 전달하지 않음
+     * @param action        레코드를 받을 Consumer
+     * @return 마지막으로 전달한 레코드의 순번 (전달한 레코드가 없으면 afterSequence)
+     */
+    public long replay(long afterSequence, long untilSequence, Consumer<PointCommitLogRecord> action) {
+        if (!enabled) {
+            return afterSequence;
+        }
+        archiveLock.readLock().lock();
+        try {
+            long last = archive.replay(afterSequence, untilSequence, action);
+            if (last >= untilSequence) {
+                return last;
+            }
+            return replaySegments(last, untilSequence, action);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * throughSequence까지의 동기화된 레코드를 보관 파일로 옮기고, 모든 레코드가 보관된 세그먼트를 지웁니다.
+     * 기록 중인 마지막 세그먼트는 지우지 않습니다.
+     *
+     * @param throughSequence 이 순번까지 보관
+     * @return 보관 파일에 동기화된 마지막 레코드의 순번
+     */
+    public long archive(long throughSequence) {
+        if (!enabled) {
+            return 0;
+        }
+        long untilSequence = Math.min(throughSequence, syncedSequence);
+        archiveLock.writeLock().lock();
+        try {
+            if (untilSequence > archive.lastSequence()) {
+                try {
+                    replaySegments(archive.lastSequence(), untilSequence, archive::append);
+                    archive.sync();
+                } catch (RuntimeException e) {
+                    archive.discardUnsynced();
+                    throw e;
+                }
+            }
+            deleteArchivedSegments(archive.lastSequence());
+            return archive.lastSequence();
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 마지막으로 기록된 레코드의 순번
+     */
+    public long lastSequence() {
+        appendLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return 보관 파일로 옮겨진 마지막 레코드의 순번
+     */
+    public long archivedSequence() {
+        if (!enabled) {
+            return 0;
+        }
+        archiveLock.readLock().lock();
+        try {
+            return archive.lastSequence();
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 디스크에 동기화된 마지막 레코드의 순번
+     */
+    public long syncedSequence() {
+        return syncedSequence;
+    }
+
+    /**
+     * 진행 중인 기록이 끝나기를 기다려 남은 기록을 동기화하고 종료합니다.
+     * 동기화하지 못한 레코드를 기다리던 스레드는 IllegalStateException으로 깨웁니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        // 기록 중인 스레드가 appendLock을 놓을 때까지 기다리므로, 이후의 기록은 모두 거절되고 마지막 동기화가 앞선 기록을 포함한다
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        syncer.interrupt();
+        syncer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (syncer.isAlive()) {
+            log.warn("포인트 로그 동기화 스레드가 종료 시간 안에 끝나지 않았습니다.");
+        }
+        if (failure == null) {
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+        syncLock.lock();
+        try {
+            closed = true;
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+        archiveLock.writeLock().lock();
+        try {
+            archive.close();
+        } catch (IOException e) {
+            log.warn("포인트 로그 보관 파일을 닫을 수 없습니다.", e);
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+
+    private long replaySegments(long afterSequence, long untilSequence, Consumer<PointCommitLogRecord> action) {
+        List<Path> segments = segments();
+        long last = afterSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && sequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(segments.get(i));
+            for (int offset = 0; ; offset += PointCommitLogRecord.BYTES) {
+                PointCommitLogRecord record = PointCommitLogRecord.readFrom(buffer, offset);
+                if (record == null || record.sequence() > untilSequence) {
+                    break;
+                }
+                if (record.sequence() > last) {
+                    action.accept(record);
+                    last = record.sequence();
+                }
+            }
+            if (last >= untilSequence) {
+                break;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * 다음 세그먼트가 archivedSequence 이하의 순번 바로 뒤에서 시작하는, 즉 모든 레코드가 보관된 세그먼트를 지웁니다.
+     */
+    private void deleteArchivedSegments(long archivedSequence) {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (sequenceOf(segments.get(i + 1)) - 1 > archivedSequence) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(segments.get(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException("보관한 포인트 로그 세그먼트를 지울 수 없습니다: " + segments.get(i), e);
+            }
+            log.info("보관한 포인트 로그 세그먼트를 지웠습니다: {}", segments.get(i).getFileName());
+        }
+    }
+
+    private void openLastSegment() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            segment = createSegment(1);
+            return;
+        }
+
+        // 마지막 세그먼트에서 유효한 마지막 레코드를 찾아 그 뒤부터 이어서 기록한다
+        Path last = segments.get(segments.size() - 1);
+        segment = map(last);
+        lastSequence = sequenceOf(last) - 1;
+        while (true) {
+            PointCommitLogRecord record = PointCommitLogRecord.readFrom(segment, position);
+            if (record == null) {
+                break;
+            }
+            lastSequence = record.sequence();
+            position += PointCommitLogRecord.BYTES;
+        }
+        // 기록 도중 끊긴 레코드가 남아있다면 지운다
+        if (position + PointCommitLogRecord.BYTES <= segment.capacity()) {
+            segment.put(position, new byte[PointCommitLogRecord.BYTES]);
+        }
+        log.info("포인트 로그를 이어서 기록합니다: segment={}, lastSequence={}", last.getFileName(), lastSequence);
+    }
+
+    private void rotate() {
+        try {
+            segment.force();
+            segment = createSegment(lastSequence + 1);
+        } catch (IOException e) {
+            UncheckedIOException failed = new UncheckedIOException("포인트 로그 세그먼트를 만들 수 없습니다.", e);
+            fail(failed);
+            throw failed;
+        } catch (RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+        position = 0;
+    }
+
+    private MappedByteBuffer createSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 로그 세그먼트를 읽을 수 없습니다: " + path, e);
+        }
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 로그 디렉터리를 읽을 수 없습니다: " + directory, e);
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void syncLoop() {
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(syncIntervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 동기화합니다. 이전 세그먼트는 교체 시점에 이미 동기화되었습니다.
+     */
+    private void sync() {
+        MappedByteBuffer current;
+        long sequence;
+        appendLock.lock();
+        try {
+            current = segment;
+            sequence = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        if (sequence == syncedSequence) {
+            return;
+        }
+
+        current.force();
+        syncLock.lock();
+        try {
+            // 종료 시의 동기화와 끝나지 않은 동기화 스레드가 겹쳐도 뒤로 돌아가지 않게 한다
+            syncedSequence = Math.max(syncedSequence, sequence);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 동기화 실패를 기록하고, 동기화를 기다리던 스레드를 모두 깨워 실패시킵니다.
+     */
+    private void fail(RuntimeException e) {
+        log.error("포인트 로그 동기화 실패, 이후의 기록을 거절합니다: syncedSequence={}", syncedSequence, e);
+        syncLock.lock();
+        try {
+            if (failure == null) {
+                failure = e;
+            }
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void awaitSynced(long sequence) {
+        if (syncedSequence >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            while (syncedSequence < sequence) {
+                if (failure != null) {
+                    throw new IllegalStateException("포인트 로그를 디스크에 동기화하지 못했습니다.", failure);
+                }
+                if (closed) {
+                    throw new IllegalStateException("포인트 로그가 종료되어 레코드를 동기화하지 못했습니다.");
+                }
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+}
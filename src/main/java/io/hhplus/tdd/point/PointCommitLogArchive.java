@@ -0,0 +1,184 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 지워질 커밋 로그 세그먼트의 레코드를 옮겨 두는 보관 파일
+ * <ul>
+ *     <li> 레코드는 세그먼트와 같은 고정 길이 형식(PointCommitLogRecord)으로 순번 순서대로 이어서 기록합니다.</li>
+ *     <li> 기록한 레코드는 sync 이후에만 보관된 것으로 보며, 동기화 전에 실패하면 동기화된 위치로 되돌립니다.</li>
+ *     <li> 열 때 마지막 유효 레코드 뒤에 남은 끊긴 기록은 잘라냅니다.</li>
+ *     <li> 파일은 처음 레코드를 옮길 때 만듭니다.</li>
+ * </ul>
+ * 쓰기와 읽기는 PointCommitLog의 보관 락 안에서만 호출됩니다.
+ */
+class PointCommitLogArchive {
+
+    private static final int BUFFER_RECORDS = 1024;
+
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocate(PointCommitLogRecord.BYTES * BUFFER_RECORDS);
+    private FileChannel channel;
+    private long position;
+    private long syncedPosition;
+    private long appendedSequence;
+    private long lastSequence;
+
+    PointCommitLogArchive(Path path) throws IOException {
+        this.path = path;
+        if (!Files.exists(path)) {
+            return;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long[] last = new long[1];
+        syncedPosition = scan(channel.size(), 0, Long.MAX_VALUE, record -> last[0] = record.sequence());
+        channel.truncate(syncedPosition);
+        position = syncedPosition;
+        lastSequence = last[0];
+        appendedSequence = lastSequence;
+    }
+
+    /**
+     * @return 보관 파일에 동기화된 마지막 레코드의 순번 (보관된 레코드가 없으면 0)
+     */
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 레코드를 버퍼에 이어서 기록합니다. 이미 기록한 순번 이하의 레코드는 건너뜁니다.
+     */
+    void append(PointCommitLogRecord record) {
+        if (record.sequence() <= appendedSequence) {
+            return;
+        }
+        try {
+            if (buffer.remaining() < PointCommitLogRecord.BYTES) {
+                flush();
+            }
+            record.writeTo(buffer, buffer.position());
+            buffer.position(buffer.position() + PointCommitLogRecord.BYTES);
+            appendedSequence = record.sequence();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 로그 보관 파일에 기록할 수 없습니다: " + path, e);
+        }
+    }
+
+    /**
+     * 기록한 레코드를 디스크에 동기화합니다.
+     *
+     * @return 동기화된 마지막 레코드의 순번
+     */
+    long sync() {
+        try {
+            flush();
+            if (channel != null) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            discardUnsynced();
+            throw new UncheckedIOException("포인트 로그 보관 파일을 동기화할 수 없습니다: " + path, e);
+        }
+        syncedPosition = position;
+        lastSequence = appendedSequence;
+        return lastSequence;
+    }
+
+    /**
+     * 동기화되지 않은 기록을 버리고 마지막으로 동기화된 위치로 되돌립니다. 버린 위치의 기록은 다음 기록이 덮어씁니다.
+     */
+    void discardUnsynced() {
+        buffer.clear();
+        position = syncedPosition;
+        appendedSequence = lastSequence;
+    }
+
+    /**
+     * 동기화된 레코드 중 afterSequence 다음부터 untilSequence까지를 순서대로 전달합니다.
+     *
+     * @return 마지막으로 전달한 레코드의 순번 (전달한 레코드가 없으면 afterSequence)
+     */
+    long replay(long afterSequence, long untilSequence, Consumer<PointCommitLogRecord> action) {
+        if (channel == null || afterSequence >= lastSequence) {
+            return afterSequence;
+        }
+        long[] last = {afterSequence};
+        try {
+            scan(syncedPosition, afterSequence, untilSequence, record -> {
+                action.accept(record);
+                last[0] = record.sequence();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 로그 보관 파일을 읽을 수 없습니다: " + path, e);
+        }
+        return last[0];
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * limit까지 유효한 레코드를 읽어 순번이 afterSequence보다 크고 untilSequence 이하인 레코드를 전달합니다.
+     * 순번이 이어지지 않거나 끊긴 레코드를 만나면 멈춥니다.
+     *
+     * @return 마지막 유효 레코드의 끝 위치
+     */
+    private long scan(long limit, long afterSequence, long untilSequence, Consumer<PointCommitLogRecord> action) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(buffer.capacity());
+        long offset = 0;
+        long previous = 0;
+        while (offset < limit) {
+            chunk.clear().limit((int) Math.min(chunk.capacity(), limit - offset));
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, offset + chunk.position()) < 0) {
+                    break;
+                }
+            }
+            chunk.flip();
+
+            int valid = 0;
+            for (; valid + PointCommitLogRecord.BYTES <= chunk.limit(); valid += PointCommitLogRecord.BYTES) {
+                PointCommitLogRecord record = PointCommitLogRecord.readFrom(chunk, valid);
+                if (record == null || record.sequence() <= previous) {
+                    return offset + valid;
+                }
+                if (record.sequence() > untilSequence) {
+                    return offset + valid;
+                }
+                if (record.sequence() > afterSequence) {
+                    action.accept(record);
+                }
+                previous = record.sequence();
+            }
+            if (valid == 0) {
+                return offset;
+            }
+            offset += valid;
+        }
+        return offset;
+    }
+
+    private void flush() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 포인트 충전/사용 커밋 로그 설정 (point.commit-log.*)
+ *
+ * @param enabled      true면 충전/사용마다 로그를 남기고, 시작 시 로그를 재생해 잔고와 내역을 복구
+ * @param directory    세그먼트 파일을 저장할 디렉터리
+ * @param segmentSize  세그먼트 파일 하나의 크기 (가득 차면 새 세그먼트로 교체)
+ * @param syncInterval 디스크 동기화(fsync) 주기, 이 주기 동안 들어온 기록을 한 번에 동기화
+ * @param syncOnAppend true면 기록이 디스크에 동기화될 때까지 기다린 뒤 응답
+ */
+@ConfigurationProperties(prefix = "point.commit-log")
+public record PointCommitLogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/commit-log") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("5ms") Duration syncInterval,
+        @DefaultValue("true") boolean syncOnAppend
+) {
+    public PointCommitLogProperties {
+        if (segmentSize.toBytes() < PointCommitLogRecord.BYTES || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize는 레코드 크기 이상 2GB 미만이어야 합니다.");
+        }
+        if (syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("syncInterval은 0보다 커야 합니다.");
+        }
+    }
+}
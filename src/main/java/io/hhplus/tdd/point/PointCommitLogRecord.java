@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 충전/사용 로그 레코드
+ * 고정 길이(40바이트) 바이너리로 기록합니다: sequence(8) userId(8) amount(8) updateMillis(8) type(1) padding(3) crc32c(4)
+ * sequence는 1부터 시작하므로 0으로 채워진 영역은 로그의 끝을 뜻합니다.
+ *
+ * @param sequence     로그 순번
+ * @param userId       유저id
+ * @param amount       충전/사용 포인트
+ * @param type         충전/사용 구분
+ * @param updateMillis 처리 시각
+ */
+public record PointCommitLogRecord(
+        long sequence,
+        long userId,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+    public static final int BYTES = 40;
+    private static final int CHECKSUM_OFFSET = 36;
+
+    /**
+     * buffer의 offset 위치에 레코드를 기록합니다. (buffer의 position은 바꾸지 않음)
+     */
+    public void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, userId);
+        buffer.putLong(offset + 16, amount);
+        buffer.putLong(offset + 24, updateMillis);
+        buffer.put(offset + 32, (byte) type.ordinal());
+        buffer.put(offset + 33, (byte) 0);
+        buffer.putShort(offset + 34, (short) 0);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset));
+    }
+
+    /**
+     * @return offset 위치의 레코드, 로그의 끝이거나 기록 도중 끊긴 레코드라면 null
+     */
+    public static PointCommitLogRecord readFrom(ByteBuffer buffer, int offset) {
+        if (offset + BYTES > buffer.limit()) {
+            return null;
+        }
+        long sequence = buffer.getLong(offset);
+        if (sequence <= 0 || buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset)) {
+            return null;
+        }
+        int type = buffer.get(offset + 32);
+        if (type < 0 || type >= TransactionType.values().length) {
+            return null;
+        }
+        return new PointCommitLogRecord(sequence, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                TransactionType.values()[type], buffer.getLong(offset + 24));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 시작 시 포인트 커밋 로그를 재생해 잔고와 내역을 복구
+ * <ul>
+ *     <li> 요청을 받기 전(빈 초기화 단계)에 실행되며, 복구한 내역과 잔고는 로그를 다시 거치지 않고
+ *     저장소의 restore로 한 번에 적재하므로 테이블의 저장 지연이 레코드마다 더해지지 않습니다.</li>
+ *     <li> 복구한 내역의 id는 로그 순번이며, 이후 저장되는 내역은 그보다 큰 id를 받습니다.</li>
+ *     <li> 잔고 스냅샷이 활성화되어 있다면 최신 스냅샷의 잔고에서 시작해 그 이후의 레코드만 읽어 잔고와 내역에 반영하므로,
+ *     복구 시간과 메모리는 전체 로그가 아니라 스냅샷 이후의 레코드 수에 비례합니다.</li>
+ *     <li> 스냅샷 이전의 내역은 적재하지 않고 보관 파일과 세그먼트에 남겨 두며(ArchivedPointHistories),
+ *     스냅샷에 잔고가 있는 유저의 내역을 처음 읽을 때 로그에서 그 유저의 레코드만 골라 읽습니다.</li>
+ *     <li> 복구에 걸린 시간은 point.recovery 지표로 기록합니다.</li>
+ * </ul>
+ */
+@Component
+public class PointCommitLogRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointCommitLogRecovery.class);
+
+    private final PointCommitLog pointCommitLog;
+    private final PointSnapshotter pointSnapshotter;
+    private final UserPointCache userPointCache;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointMetrics pointMetrics;
+
+    public PointCommitLogRecovery(PointCommitLog pointCommitLog, PointSnapshotter pointSnapshotter,
+                                  UserPointCache userPointCache, PointHistoryStore pointHistoryStore, PointMetrics pointMetrics) {
+        this.pointCommitLog = pointCommitLog;
+        this.pointSnapshotter = pointSnapshotter;
+        this.userPointCache = userPointCache;
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @PostConstruct
+    public void recover() {
+        if (!pointCommitLog.isEnabled()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        PointSnapshot snapshot = pointSnapshotter.loaded();
+        Map<Long, PointSnapshot.Balance> balances = new HashMap<>(snapshot.balances());
+        List<PointHistory> histories = new ArrayList<>();
+        long lastSequence = pointCommitLog.replay(snapshot.lastSequence(), record -> {
+            balances.compute(record.userId(), (id, balance) ->
+                    (balance == null ? new PointSnapshot.Balance(0, 0) : balance).apply(record));
+            histories.add(toPointHistory(record));
+        });
+        pointHistoryStore.restore(histories, archivedHistories(snapshot));
+        userPointCache.restore(balances.entrySet().stream()
+                .map(entry -> new UserPoint(entry.getKey(), entry.getValue().point(), entry.getValue().updateMillis()))
+                .toList());
+
+        long elapsed = System.nanoTime() - startedAt;
+        pointMetrics.recordRecovery(elapsed);
+        log.info("포인트 로그 복구 완료: 유저 {}명, 스냅샷 lastSequence={}, 재생한 로그 {}건, lastSequence={}, {}ms",
+                balances.size(), snapshot.lastSequence(), histories.size(), lastSequence, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * 스냅샷 이전의 내역은 스냅샷에 잔고가 있는 유저에게만 있으므로, 그 유저의 내역을 처음 읽을 때만 로그를 읽습니다.
+     */
+    private ArchivedPointHistories archivedHistories(PointSnapshot snapshot) {
+        if (snapshot.lastSequence() == 0) {
+            return ArchivedPointHistories.NONE;
+        }
+        return new ArchivedPointHistories(snapshot.lastSequence(), Set.copyOf(snapshot.balances().keySet()), userId -> {
+            List<PointHistory> userHistories = new ArrayList<>();
+            pointCommitLog.replay(0, snapshot.lastSequence(), record -> {
+                if (record.userId() == userId) {
+                    userHistories.add(toPointHistory(record));
+                }
+            });
+            return userHistories;
+        });
+    }
+
+    private static PointHistory toPointHistory(PointCommitLogRecord record) {
+        return new PointHistory(record.sequence(), record.userId(), record.amount(), record.type(), record.updateMillis());
+    }
+}
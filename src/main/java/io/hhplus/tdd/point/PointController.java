@@ -1,11 +1,16 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/point")
@@ -14,9 +19,16 @@ public class PointController {
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
 
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, PointBatchService pointBatchService,
+                           IdempotencyCache idempotencyCache, ObjectMapper objectMapper) {
         this.pointService = pointService;
+        this.pointBatchService = pointBatchService;
+        this.idempotencyCache = idempotencyCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -29,6 +41,16 @@ public class PointController {
         return pointService.getPoint(id);
     }
 
+    /**
+     * 여러 유저의 포인트를 한 번에 조회합니다. (예: /point?ids=1,2,3)
+     */
+    @GetMapping
+    public List<UserPoint> points(
+            @RequestParam("ids") List<Long> ids
+    ) {
+        return pointBatchService.getPoints(ids);
+    }
+
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
@@ -39,25 +61,105 @@ public class PointController {
         return pointService.getUserPointHistory(id);
     }
 
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 종류별로 집계해 조회합니다. (건수, 합계, 최소, 최대, 마지막 시각)
+     * 내역이 저장될 때마다 갱신해 둔 집계를 반환하므로 내역을 다시 읽지 않습니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointHistorySummary summary(
+            @PathVariable("id") long id
+    ) {
+        return pointService.getUserPointSummary(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 나누어 조회합니다.
+     * 응답의 nextCursor를 다음 요청의 cursor로 전달하면 이어서 조회할 수 있습니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable("id") long id,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", defaultValue = "" + PointHistoryQuery.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "type", required = false) TransactionType type
+    ) {
+        return pointService.getUserPointHistoryPage(id, new PointHistoryQuery(cursor, size, from, to, type));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체를 NDJSON으로 스트리밍합니다. (정산/대사용)
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(
+            @PathVariable("id") long id
+    ) {
+        return ndjson(writer -> pointService.forEachUserPointHistory(id, writer));
+    }
+
+    /**
+     * 모든 유저의 포인트 충전/이용 내역을 NDJSON으로 스트리밍합니다. (정산/대사용)
+     */
+    @GetMapping(value = "histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> allHistoryStream() {
+        return ndjson(pointService::forEachPointHistory);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<PointHistoryNdjsonWriter> export) {
+        StreamingResponseBody body = outputStream -> {
+            try (PointHistoryNdjsonWriter writer = new PointHistoryNdjsonWriter(objectMapper, outputStream)) {
+                export.accept(writer);
+                log.debug("포인트 내역 스트리밍 완료: {}건", writer.writtenRows());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있다면 같은 키로 다시 요청해도 한 번만 충전하고 처음 결과를 반환합니다.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable("id") long id,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
             @RequestBody long amount
     ) {
-        return pointService.chargePoint(id, amount);
+        if (idempotencyKey == null) {
+            return pointService.chargePoint(id, amount);
+        }
+        return idempotencyCache.execute(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> pointService.chargePoint(id, amount));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있다면 같은 키로 다시 요청해도 한 번만 사용하고 처음 결과를 반환합니다.
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable("id") long id,
+            @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
             @RequestBody long amount
     ) {
-        return pointService.usePoint(id, amount);
+        if (idempotencyKey == null) {
+            return pointService.usePoint(id, amount);
+        }
+        return idempotencyCache.execute(idempotencyKey, id, TransactionType.USE, amount,
+                () -> pointService.usePoint(id, amount));
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 요청합니다.
+     * 항목별 처리 결과(처리 직후 UserPoint 또는 실패 사유)를 요청 순서대로 반환합니다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchResult> batch(
+            @RequestBody List<PointBatchRequest> requests
+    ) {
+        return pointBatchService.execute(requests);
     }
 }
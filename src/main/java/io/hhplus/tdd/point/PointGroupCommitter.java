@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 동일 유저의 동시 충전/사용 요청을 모아 한 번에 저장하는 그룹 커밋 처리기
+ * <ul>
+ *     <li> 요청은 유저별 대기열에 쌓이고, 유저 락을 먼저 획득한 스레드가 대기열을 순서대로 처리합니다.</li>
+ *     <li> 잔고는 메모리상의 UserPoint 하나에 순차 적용한 뒤 insertOrUpdate 한 번으로 저장하고, 성공한 요청의 내역을 기록합니다.</li>
+ *     <li> 각 요청자는 자신의 연산 직후 UserPoint 또는 자신의 검증 예외를 그대로 돌려받습니다.</li>
+ *     <li> 잔고 저장에 성공한 요청은 내역 기록에 실패하더라도 성공으로 완료하고, 기록하지 못한 내역은 오류 로그로 남깁니다.</li>
+ * </ul>
+ */
+@Component
+public class PointGroupCommitter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointGroupCommitter.class);
+
+    private final UserPointCache userPointCache;
+    private final PointHistoryAppender pointHistoryAppender;
+    private final LockManager lockManager;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<Long, Queue<PointCommand>> pendingMap = new ConcurrentHashMap<>();
+
+    public PointGroupCommitter(UserPointCache userPointCache, PointHistoryAppender pointHistoryAppender,
+                               LockManager lockManager, PointWriteProperties writeProperties) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryAppender = pointHistoryAppender;
+        this.lockManager = lockManager;
+        this.maxBatchSize = writeProperties.groupCommit().maxBatchSize();
+    }
+
+    public UserPoint charge(long id, long amount) {
+        return submit(id, TransactionType.CHARGE, amount);
+    }
+
+    public UserPoint use(long id, long amount) {
+        return submit(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * 한 유저에 대한 여러 요청을 유저 락 안에서 순서대로 적용하고, 최대 maxBatchSize 개 단위로 묶어 저장합니다.
+     *
+     * @param id       유저id
+     * @param requests 같은 유저에 대한 요청 목록 (요청 순서대로 적용)
+     * @return 요청 순서와 같은 순서의 처리 결과
+     */
+    public List<PointBatchResult> commitAll(long id, List<PointBatchRequest> requests) {
+        List<PointCommand> commands = requests.stream()
+                .map(request -> new PointCommand(request.type(), request.amount()))
+                .toList();
+        Queue<PointCommand> pending = new ArrayDeque<>(commands);
+
+        Lock lock = lockManager.acquire(id);
+
+        try {
+            while (!pending.isEmpty()) {
+                commitBatch(id, pending);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        List<PointBatchResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            PointCommand command = commands.get(i);
+            results.add(command.failure == null
+                    ? PointBatchResult.success(requests.get(i), command.result)
+                    : PointBatchResult.failure(requests.get(i), command.failure));
+        }
+        return results;
+    }
+
+    private UserPoint submit(long id, TransactionType type, long amount) {
+        PointCommand command = new PointCommand(type, amount);
+        Queue<PointCommand> pending = pendingMap.computeIfAbsent(id, key -> new ConcurrentLinkedQueue<>());
+        pending.offer(command);
+
+        Lock lock;
+        try {
+            lock = lockManager.acquire(id);
+        } catch (PointBusyException e) {
+            // 아직 대기열에 남아있다면 꺼내서 거절하고, 이미 다른 스레드가 처리 중이라면 처리가 끝날 때까지 기다린다
+            if (pending.remove(command)) {
+                throw e;
+            }
+            lock = lockManager.getLock(id);
+            lock.lock();
+        }
+
+        try {
+            // 앞선 스레드가 이미 처리했다면 바로 반환하고, 아니라면 내 요청이 처리될 때까지 대기열을 비운다
+            while (!command.done) {
+                commitBatch(id, pending);
+            }
+
+            // 비어있는 대기열은 정리한다 (정리 직후 들어온 요청은 해당 요청 스레드가 직접 처리)
+            if (pending.isEmpty()) {
+                pendingMap.remove(id, pending);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return command.get();
+    }
+
+    /**
+     * 대기열에서 최대 maxBatchSize 개의 요청을 꺼내 하나의 UserPoint에 순서대로 적용하고 한 번에 저장합니다.
+     * 검증에 실패한 요청은 해당 요청만 실패 처리되며, 저장 중 예외가 발생하면 적용된 요청 모두 실패 처리됩니다.
+     * 저장에 성공한 뒤에는 잔고가 이미 바뀌었으므로 내역 기록 결과와 무관하게 적용된 요청을 성공으로 완료합니다.
+     */
+    private void commitBatch(long id, Queue<PointCommand> pending) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand polled;
+        while (batch.size() < maxBatchSize && (polled = pending.poll()) != null) {
+            batch.add(polled);
+        }
+
+        List<PointCommand> applied = new ArrayList<>(batch.size());
+        try {
+            // userPoint 조회
+            UserPoint userPoint = userPointCache.selectById(id);
+
+            // 요청 순서대로 충전/사용 적용
+            for (PointCommand command : batch) {
+                try {
+                    userPoint = command.applyTo(userPoint);
+                    applied.add(command);
+                } catch (IllegalArgumentException e) {
+                    command.fail(e);
+                }
+            }
+
+            if (applied.isEmpty()) {
+                return;
+            }
+
+            // 최종 userPoint 한 번만 저장
+            userPointCache.insertOrUpdate(id, userPoint.point());
+        } catch (RuntimeException e) {
+            batch.stream()
+                    .filter(command -> !command.done)
+                    .forEach(command -> command.fail(e));
+            return;
+        }
+
+        applied.forEach(PointCommand::complete);
+
+        // 적용된 요청 순서대로 pointHistory 저장
+        for (PointCommand command : applied) {
+            try {
+                pointHistoryAppender.append(id, command.amount, command.type, command.result.updateMillis());
+            } catch (RuntimeException e) {
+                log.error("잔고 저장 후 포인트 내역 기록 실패: userId={}, type={}, amount={}", id, command.type, command.amount, e);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 충전/사용 요청
+     * 처리 결과는 유저 락 안에서 기록되고, 요청 스레드는 같은 락을 거친 뒤 결과를 읽습니다.
+     */
+    private static final class PointCommand {
+        private final TransactionType type;
+        private final long amount;
+        private UserPoint result;
+        private RuntimeException failure;
+        private boolean done;
+
+        private PointCommand(TransactionType type, long amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+
+        private UserPoint applyTo(UserPoint userPoint) {
+            result = switch (type) {
+                case CHARGE -> userPoint.charge(amount);
+                case USE -> userPoint.use(amount);
+            };
+            return result;
+        }
+
+        private void complete() {
+            done = true;
+        }
+
+        private void fail(RuntimeException e) {
+            result = null;
+            failure = e;
+            done = true;
+        }
+
+        private UserPoint get() {
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+}
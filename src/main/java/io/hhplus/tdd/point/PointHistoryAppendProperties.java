@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 기록 설정 (point.history-append.*)
+ *
+ * @param async           true면 유저 락 밖에서 백그라운드 스레드가 내역을 기록
+ * @param queueCapacity   기록 대기열 전체 크기 (가득 차면 요청 스레드가 대기)
+ * @param writerThreads   기록 스레드 수 (유저는 항상 같은 스레드에 배정되어 순서가 유지됨)
+ * @param shutdownTimeout 종료 시 남은 내역을 기록하며 기다릴 최대 시간
+ */
+@ConfigurationProperties(prefix = "point.history-append")
+public record PointHistoryAppendProperties(
+        @DefaultValue("false") boolean async,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("4") int writerThreads,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+    public PointHistoryAppendProperties {
+        if (writerThreads < 1 || queueCapacity < writerThreads) {
+            throw new IllegalArgumentException("writerThreads는 1 이상, queueCapacity는 writerThreads 이상이어야 합니다.");
+        }
+    }
+}
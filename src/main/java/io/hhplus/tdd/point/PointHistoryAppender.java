@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 내역 기록기
+ * <ul>
+ *     <li> 동기 모드: 호출 스레드에서 바로 PointHistoryStore에 기록합니다.</li>
+ *     <li> 비동기 모드: 내역을 유저별로 고정된 기록 스레드의 대기열에 넣고 바로 반환하므로, 내역 저장 시간이 유저 락 보유 시간에 포함되지 않습니다.</li>
+ *     <li> 유저는 항상 같은 대기열에 배정되므로 같은 유저의 내역은 요청 순서대로 기록됩니다.</li>
+ *     <li> 대기 중인 내역은 PointHistoryStore에 등록되어 전체 내역 조회 결과에 포함되며, 종료 시 남은 내역을 모두 기록합니다.</li>
+ *     <li> 잔고를 저장한 뒤 호출되며, 커밋 로그가 활성화되어 있다면 내역을 기록하기 전에 먼저 커밋 로그에 남깁니다.</li>
+ * </ul>
+ */
+@Component
+public class PointHistoryAppender {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryAppender.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final PointHistoryStore pointHistoryStore;
+    private final PointCommitLog pointCommitLog;
+    private final boolean async;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PendingPointHistory>[] queues;
+    private final Thread[] writers;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public PointHistoryAppender(PointHistoryStore pointHistoryStore, PointCommitLog pointCommitLog,
+                                PointHistoryAppendProperties appendProperties, PointThreadFactory pointThreadFactory) {
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointCommitLog = pointCommitLog;
+        this.async = appendProperties.async();
+        this.shutdownTimeout = appendProperties.shutdownTimeout();
+
+        int writerThreads = async ? appendProperties.writerThreads() : 0;
+        this.queues = new BlockingQueue[writerThreads];
+        this.writers = new Thread[writerThreads];
+        for (int i = 0; i < writerThreads; i++) {
+            BlockingQueue<PendingPointHistory> queue = new ArrayBlockingQueue<>(appendProperties.queueCapacity() / writerThreads);
+            queues[i] = queue;
+            writers[i] = pointThreadFactory.start("point-history-writer-" + i, () -> drain(queue));
+        }
+    }
+
+    /**
+     * 포인트 내역을 기록합니다. 비동기 모드에서는 대기열에 넣은 뒤 바로 반환하며, 대기열이 가득 찼다면 자리가 날 때까지 기다립니다.
+     * 종료가 시작되어 기록되지 못할 내역은 대기열에 남기지 않고 IllegalStateException으로 거절합니다.
+     */
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        pointCommitLog.append(userId, amount, type, updateMillis);
+
+        if (!async) {
+            pointHistoryStore.insert(userId, amount, type, updateMillis);
+            return;
+        }
+
+        if (!running) {
+            throw new IllegalStateException("포인트 내역 기록기가 종료되었습니다.");
+        }
+
+        PendingPointHistory pending = new PendingPointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+        pointHistoryStore.addPending(pending);
+        pendingCount.incrementAndGet();
+        BlockingQueue<PendingPointHistory> queue = queueFor(userId);
+        try {
+            while (!queue.offer(pending, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    cancel(pending);
+                    throw new IllegalStateException("포인트 내역 기록기가 종료되었습니다.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(pending);
+            throw new IllegalStateException("포인트 내역 기록 대기 중 인터럽트가 발생했습니다.", e);
+        }
+
+        // 확인 이후 종료가 시작되어 기록 스레드가 이미 대기열을 비우고 끝났다면, 넣은 내역을 되돌린다
+        if (!running && queue.remove(pending)) {
+            cancel(pending);
+            throw new IllegalStateException("포인트 내역 기록기가 종료되었습니다.");
+        }
+    }
+
+    /**
+     * @return 아직 기록되지 않은 내역 수
+     */
+    public long pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 현재까지 들어온 내역이 모두 기록될 때까지 기다립니다.
+     *
+     * @return 제한 시간 안에 모두 기록되었다면 true
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pendingCount.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * 새 내역을 받지 않고, 대기열에 남은 내역을 모두 기록한 뒤 종료합니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread writer : writers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            writer.join(Math.max(1L, remainingMillis));
+        }
+        if (pendingCount.get() > 0) {
+            log.warn("종료 시간 안에 기록하지 못한 포인트 내역이 있습니다: {}건", pendingCount.get());
+        }
+    }
+
+    private void cancel(PendingPointHistory pending) {
+        pointHistoryStore.discardPending(pending);
+        pendingCount.decrementAndGet();
+    }
+
+    private BlockingQueue<PendingPointHistory> queueFor(long userId) {
+        return queues[Math.floorMod(Long.hashCode(userId), queues.length)];
+    }
+
+    private void drain(BlockingQueue<PendingPointHistory> queue) {
+        while (running || !queue.isEmpty()) {
+            PendingPointHistory pending;
+            try {
+                pending = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pending == null) {
+                continue;
+            }
+
+            try {
+                pointHistoryStore.commitPending(pending);
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 기록 실패: {}", pending, e);
+                pointHistoryStore.discardPending(pending);
+            } finally {
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * PointHistory를 한 줄에 하나씩 JSON으로 기록하는 NDJSON(newline-delimited JSON) 작성기
+ * <ul>
+ *     <li> 고정 크기 버퍼만 사용하고 일정 건수마다 flush 하므로 내역 수와 무관하게 메모리 사용량이 일정합니다.
+ *     (값을 쓸 때마다 flush 하는 FLUSH_AFTER_WRITE_VALUE는 끕니다)</li>
+ *     <li> 값 사이에 기본 구분자(공백)를 넣지 않고, 각 값 뒤에 줄바꿈만 기록합니다.</li>
+ *     <li> 응답 스트림이 막히면 write가 블로킹되어 내역 순회도 함께 멈추므로 클라이언트 속도에 맞춰 전송됩니다.</li>
+ * </ul>
+ */
+public class PointHistoryNdjsonWriter implements Consumer<PointHistory>, AutoCloseable {
+
+    static final int BUFFER_SIZE = 8 * 1024;
+    static final int FLUSH_INTERVAL_ROWS = 256;
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private long writtenRows;
+
+    public PointHistoryNdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.writer = objectMapper.writerFor(PointHistory.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory()
+                .createGenerator(new BufferedOutputStream(outputStream, BUFFER_SIZE))
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(PointHistory pointHistory) {
+        try {
+            writer.writeValue(generator, pointHistory);
+            generator.writeRaw('\n');
+            if (++writtenRows % FLUSH_INTERVAL_ROWS == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long writtenRows() {
+        return writtenRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
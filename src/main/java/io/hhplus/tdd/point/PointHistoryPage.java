@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 커서 기반 포인트 내역 페이지
+ *
+ * @param content    조회된 내역 (id 오름차순)
+ * @param nextCursor 다음 페이지 조회 시 사용할 커서 (다음 페이지가 없다면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> content,
+        Long nextCursor
+) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 페이지 조회 조건
+ *
+ * @param cursor 이전 페이지의 마지막 내역 id (null이면 처음부터 조회)
+ * @param size   페이지 크기
+ * @param from   updateMillis 하한 (포함, null이면 제한 없음)
+ * @param to     updateMillis 상한 (포함, null이면 제한 없음)
+ * @param type   조회할 트랜잭션 종류 (null이면 전체)
+ */
+public record PointHistoryQuery(
+        Long cursor,
+        int size,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public PointHistoryQuery {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidPointRequestException(ErrorMessage.INVALID_PAGE_SIZE);
+        }
+
+        if (from != null && to != null && from > to) {
+            throw new InvalidPointRequestException(ErrorMessage.INVALID_TIME_RANGE);
+        }
+    }
+
+    public static PointHistoryQuery first(int size) {
+        return new PointHistoryQuery(null, size, null, null, null);
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        return matches(pointHistory.updateMillis(), pointHistory.type());
+    }
+
+    /**
+     * PointHistory를 만들지 않고 시각과 종류만으로 조건을 확인합니다. (컬럼형 저장소에서 사용)
+     */
+    public boolean matches(long updateMillis, TransactionType type) {
+        return (from == null || updateMillis >= from)
+                && (to == null || updateMillis <= to)
+                && (this.type == null || this.type == type);
+    }
+}
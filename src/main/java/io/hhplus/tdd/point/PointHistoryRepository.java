@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소 (point.storage.history로 구현체 선택)
+ */
+public interface PointHistoryRepository {
+
+    /**
+     * 내역을 저장합니다. id는 저장소가 오름차순으로 부여합니다.
+     *
+     * @return 저장된 PointHistory
+     */
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * @param userId 유저id
+     * @return 유저의 포인트 내역
+     */
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 복구한 내역을 id를 그대로 유지해 저장 지연 없이 한 번에 적재합니다. (애플리케이션 시작 시, 내역을 저장하기 전에 사용)
+     * 이후 insert가 부여하는 id는 적재한 id와 lastId보다 큽니다.
+     *
+     * @param histories id 오름차순으로 정렬된 내역
+     * @param lastId    적재하지 않고 로그에 남겨 둔 내역까지 포함한 마지막 id (남겨 둔 내역이 없다면 0)
+     */
+    void restore(List<PointHistory> histories, long lastId);
+}
@@ -0,0 +1,556 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 내역 저장소(PointHistoryRepository) 앞단에서 유저별 내역 인덱스를 유지하는 내역 저장소
+ * <ul>
+ *     <li> 내역 저장 시 저장소에 기록한 뒤 유저별 append-only 배열에 추가합니다.</li>
+ *     <li> 유저 내역 조회는 전체 테이블을 훑지 않고 해당 유저의 배열만 읽으므로 O(해당 유저의 내역 수) 입니다.</li>
+ *     <li> 인덱스가 없는 유저는 처음 접근할 때 저장소의 selectAllByUserId로 채웁니다.</li>
+ *     <li> 비동기 기록 대기 중인 내역(id = 0)은 유저 인덱스에 함께 보관되어 전체 내역 조회와 순회에서 기록된 내역 뒤에 이어집니다.</li>
+ *     <li> 커서 페이지 조회와 집계는 id가 부여된 기록된 내역만 대상으로 하며, 대기 중인 내역은 기록된 뒤에 포함됩니다.</li>
+ *     <li> 유저 인덱스는 기록된 내역의 종류별 집계(PointHistorySummary)를 함께 갱신하며, 인덱스를 적재할 때 다시 계산합니다.</li>
+ *     <li> 저장소가 유저 인덱스와 집계를 직접 유지한다면(IndexedPointHistoryRepository) 유저별 배열을 두지 않고
+ *     저장소의 인덱스로 조회하며, 비동기 기록 대기 중인 내역만 따로 보관합니다.</li>
+ *     <li> 복구 시 로그에 남겨 둔 스냅샷 이전의 내역(ArchivedPointHistories)은 그 유저의 내역을 처음 읽을 때 로그에서 읽어 오며,
+ *     id가 저장소의 내역보다 작으므로 저장소의 내역 앞에 이어집니다.</li>
+ * </ul>
+ */
+@Component
+public class PointHistoryStore {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final IndexedPointHistoryRepository indexedRepository; // 인덱스를 유지하는 저장소가 아니라면 null
+    private final ConcurrentHashMap<Long, UserHistoryLog> logMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PendingHistories> pendingMap = new ConcurrentHashMap<>();
+    // 저장소가 인덱스를 유지할 때 로그에서 읽어 온 유저별 스냅샷 이전 내역 (인덱스가 없는 저장소는 logMap에 함께 적재)
+    private final ConcurrentHashMap<Long, UserHistoryLog> archivedMap = new ConcurrentHashMap<>();
+    private volatile ArchivedPointHistories archived = ArchivedPointHistories.NONE;
+
+    public PointHistoryStore(PointHistoryRepository pointHistoryRepository) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.indexedRepository = pointHistoryRepository instanceof IndexedPointHistoryRepository indexed ? indexed : null;
+    }
+
+    /**
+     * 저장소에 내역을 저장하고 유저 인덱스에 추가합니다.
+     *
+     * @return 저장된 PointHistory
+     */
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = insertToRepository(userId, amount, type, updateMillis);
+        if (indexedRepository == null) {
+            logFor(userId).append(pointHistory);
+        }
+        return pointHistory;
+    }
+
+    /**
+     * 비동기 기록 대기 중인 내역을 유저 인덱스에 등록합니다.
+     */
+    public void addPending(PendingPointHistory pending) {
+        if (indexedRepository != null) {
+            pendingFor(pending.userId()).add(pending);
+            return;
+        }
+        logFor(pending.userId()).addPending(pending);
+    }
+
+    /**
+     * 대기 중인 내역을 저장소에 기록하고, 인덱스에서 대기 내역을 기록된 내역으로 교체합니다.
+     * 교체는 유저 인덱스의 락 안에서 한 번에 이루어지므로 조회 시 누락되거나 중복되지 않습니다.
+     *
+     * @return 저장된 PointHistory
+     */
+    public PointHistory commitPending(PendingPointHistory pending) {
+        if (indexedRepository != null) {
+            return pendingFor(pending.userId()).commit(pending,
+                    () -> insertToRepository(pending.userId(), pending.amount(), pending.type(), pending.updateMillis()));
+        }
+        PointHistory pointHistory = insertToRepository(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+        logFor(pending.userId()).commit(pending, pointHistory);
+        return pointHistory;
+    }
+
+    /**
+     * 기록에 실패한 대기 내역을 인덱스에서 제거합니다.
+     */
+    public void discardPending(PendingPointHistory pending) {
+        if (indexedRepository != null) {
+            pendingFor(pending.userId()).discard(pending);
+            return;
+        }
+        logFor(pending.userId()).discard(pending);
+    }
+
+    /**
+     * 기록된 내역 뒤에 비동기 기록 대기 중인 내역(id = 0)을 이어 붙여 반환하므로,
+     * 비동기 기록 모드에서도 방금 충전/사용한 내역을 바로 조회할 수 있습니다.
+     *
+     * @param userId 유저id
+     * @return id 오름차순으로 정렬된 기록된 내역과 그 뒤에 대기열 순서로 이어지는 대기 중인 내역
+     */
+    public List<PointHistory> selectAllByUserId(long userId) {
+        if (indexedRepository != null) {
+            PendingHistories pendings = pendingMap.get(userId);
+            return pendings == null
+                    ? Collections.unmodifiableList(selectAllIndexed(userId))
+                    : pendings.appendTo(() -> selectAllIndexed(userId));
+        }
+        return logFor(userId).toList();
+    }
+
+    /**
+     * 저장소에 기록된 내역의 종류별 집계를 반환합니다. 비동기 기록 대기 중인 내역은 기록된 뒤에 반영됩니다.
+     * 인덱스가 적재된 유저는 내역을 읽지 않고 O(1)로 반환합니다.
+     *
+     * @param userId 유저id
+     * @return PointHistorySummary
+     */
+    public PointHistorySummary summarize(long userId) {
+        if (indexedRepository != null) {
+            UserHistoryLog archivedLog = archivedFor(userId);
+            PointHistorySummary summary = indexedRepository.summarize(userId);
+            return archivedLog == null ? summary : archivedLog.summary().plus(summary);
+        }
+        return logFor(userId).summary();
+    }
+
+    /**
+     * 유저의 내역을 커서 이후부터 조건에 맞는 만큼만 읽어 한 페이지를 구성합니다.
+     * 커서 위치는 id 기준 이진 탐색으로 찾으므로 전체 내역을 복사하지 않습니다.
+     * 비동기 기록 대기 중인 내역은 커서로 가리킬 id가 없으므로 포함하지 않고, 기록된 뒤의 페이지에 포함됩니다.
+     *
+     * @param userId 유저id
+     * @param query  페이지 조회 조건
+     * @return PointHistoryPage
+     */
+    public PointHistoryPage findPage(long userId, PointHistoryQuery query) {
+        if (indexedRepository != null) {
+            UserHistoryLog archivedLog = archivedFor(userId);
+            return archivedLog == null ? indexedRepository.findPage(userId, query) : findPageIndexed(userId, archivedLog, query);
+        }
+        return logFor(userId).page(query);
+    }
+
+    /**
+     * 유저의 내역을 selectAllByUserId와 같은 순서로 순회합니다. 기록된 내역은 복사하지 않습니다.
+     * 순회 시작 시점까지 저장되었거나 기록 대기 중인 내역만 대상이 됩니다.
+     */
+    public void forEachByUserId(long userId, Consumer<PointHistory> action) {
+        if (indexedRepository != null) {
+            PendingHistories pendings = pendingMap.get(userId);
+            if (pendings == null || pendings.isEmpty()) {
+                UserHistoryLog archivedLog = archivedFor(userId);
+                if (archivedLog != null) {
+                    archivedLog.forEach(action);
+                }
+                indexedRepository.forEachByUserId(userId, action);
+            } else {
+                selectAllByUserId(userId).forEach(action);
+            }
+            return;
+        }
+        logFor(userId).forEach(action);
+    }
+
+    /**
+     * @param userId 유저id
+     * @return 유저 인덱스가 적재되어 있어 저장소나 로그를 읽지 않고 내역을 읽을 수 있는지 여부
+     */
+    public boolean isIndexed(long userId) {
+        if (indexedRepository != null) {
+            return !archived.contains(userId) || archivedMap.containsKey(userId);
+        }
+        return logMap.containsKey(userId);
+    }
+
+    /**
+     * 인덱스에 적재된 모든 유저와 로그에 내역을 남겨 둔 모든 유저의 내역을 유저 단위로 forEachByUserId와 같은 순서로 순회합니다.
+     * 전체 내역을 한 번에 복사하지 않고, 순회 중 새로 추가된 유저는 포함되지 않을 수 있습니다.
+     * 로그에 남겨 둔 내역을 아직 읽지 않은 유저는 순회하면서 읽어 옵니다.
+     */
+    public void forEach(Consumer<PointHistory> action) {
+        if (indexedRepository != null) {
+            Set<Long> userIds = new HashSet<>(pendingMap.keySet());
+            userIds.addAll(archived.userIds());
+            indexedRepository.forEachUserId(userIds::add);
+            userIds.forEach(userId -> forEachByUserId(userId, action));
+            return;
+        }
+        Set<Long> userIds = new HashSet<>(logMap.keySet());
+        userIds.addAll(archived.userIds());
+        userIds.forEach(userId -> logFor(userId).forEach(action));
+    }
+
+    /**
+     * 복구한 내역을 저장소에 저장 지연 없이 적재하고, 적재한 유저의 인덱스와 집계를 함께 구성합니다. (애플리케이션 시작 시 사용)
+     * 로그에 남겨 둔 내역이 있는 유저는 인덱스를 미리 만들지 않고, 처음 읽을 때 남겨 둔 내역과 함께 적재합니다.
+     *
+     * @param histories id 오름차순으로 정렬된 내역 (archived의 lastId보다 큰 id)
+     * @param archived  적재하지 않고 로그에 남겨 둔 내역
+     */
+    public void restore(List<PointHistory> histories, ArchivedPointHistories archived) {
+        pointHistoryRepository.restore(histories, archived.lastId());
+        this.archived = archived;
+        if (indexedRepository != null) {
+            return;
+        }
+        Map<Long, List<PointHistory>> byUserId = histories.stream()
+                .filter(pointHistory -> !archived.contains(pointHistory.userId()))
+                .collect(Collectors.groupingBy(PointHistory::userId));
+        byUserId.forEach((userId, userHistories) -> logMap.put(userId, UserHistoryLog.of(userId, userHistories)));
+    }
+
+    /**
+     * 인덱스가 없다면 저장소에서 읽어 등록합니다.
+     * 저장소 조회 지연 동안 ConcurrentHashMap의 버킷 락(synchronized)을 잡지 않도록 밖에서 읽은 뒤 등록하며,
+     * 동시에 등록된 인덱스가 있다면 그 인덱스를 사용합니다. 읽은 뒤에 저장된 내역은 저장한 쪽이 등록된 인덱스에 추가하고,
+     * 이미 포함된 내역은 id로 걸러지므로 누락되거나 중복되지 않습니다.
+     */
+    private UserHistoryLog logFor(long userId) {
+        UserHistoryLog log = logMap.get(userId);
+        if (log != null) {
+            return log;
+        }
+        List<PointHistory> archivedHistories = archived.load(userId);
+        List<PointHistory> histories = selectAllFromRepository(userId);
+        if (!archivedHistories.isEmpty()) {
+            List<PointHistory> merged = new ArrayList<>(archivedHistories.size() + histories.size());
+            merged.addAll(archivedHistories);
+            merged.addAll(histories);
+            histories = merged;
+        }
+        UserHistoryLog loaded = UserHistoryLog.of(userId, histories);
+        log = logMap.putIfAbsent(userId, loaded);
+        return log != null ? log : loaded;
+    }
+
+    /**
+     * 저장소가 인덱스를 유지할 때, 로그에 남겨 둔 유저의 내역을 처음 읽는다면 로그에서 읽어 등록합니다. (logFor와 같은 방식)
+     *
+     * @return 로그에 남겨 둔 내역, 남겨 둔 내역이 없는 유저라면 null
+     */
+    private UserHistoryLog archivedFor(long userId) {
+        ArchivedPointHistories current = archived;
+        if (!current.contains(userId)) {
+            return null;
+        }
+        UserHistoryLog log = archivedMap.get(userId);
+        if (log != null) {
+            return log;
+        }
+        UserHistoryLog loaded = UserHistoryLog.of(userId, current.load(userId));
+        log = archivedMap.putIfAbsent(userId, loaded);
+        return log != null ? log : loaded;
+    }
+
+    private List<PointHistory> selectAllIndexed(long userId) {
+        UserHistoryLog archivedLog = archivedFor(userId);
+        if (archivedLog == null) {
+            return indexedRepository.selectAllByUserId(userId);
+        }
+        List<PointHistory> histories = indexedRepository.selectAllByUserId(userId);
+        List<PointHistory> merged = new ArrayList<>(archivedLog.size + histories.size());
+        merged.addAll(archivedLog.toList());
+        merged.addAll(histories);
+        return merged;
+    }
+
+    /**
+     * 로그에 남겨 둔 내역의 id는 저장소의 내역보다 모두 작으므로, 남겨 둔 내역에서 먼저 페이지를 채우고 모자란 만큼 저장소에서 이어서 채웁니다.
+     */
+    private PointHistoryPage findPageIndexed(long userId, UserHistoryLog archivedLog, PointHistoryQuery query) {
+        PointHistoryPage archivedPage = archivedLog.page(query);
+        if (archivedPage.hasNext()) {
+            return archivedPage;
+        }
+        List<PointHistory> content = archivedPage.content();
+        int remaining = query.size() - content.size();
+        // 페이지가 가득 찼더라도 저장소에 조건에 맞는 내역이 남아있는지 알아야 다음 커서를 정할 수 있으므로 1건 이상 조회한다
+        PointHistoryPage indexedPage = indexedRepository.findPage(userId,
+                new PointHistoryQuery(query.cursor(), Math.max(1, remaining), query.from(), query.to(), query.type()));
+        if (remaining == 0) {
+            return indexedPage.content().isEmpty() ? archivedPage
+                    : new PointHistoryPage(content, content.get(content.size() - 1).id());
+        }
+        if (content.isEmpty()) {
+            return indexedPage;
+        }
+        List<PointHistory> merged = new ArrayList<>(content.size() + indexedPage.content().size());
+        merged.addAll(content);
+        merged.addAll(indexedPage.content());
+        return new PointHistoryPage(merged, indexedPage.nextCursor());
+    }
+
+    private PendingHistories pendingFor(long userId) {
+        return pendingMap.computeIfAbsent(userId, id -> new PendingHistories());
+    }
+
+    private PointHistory insertToRepository(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointHistoryRepository.insert(userId, amount, type, updateMillis);
+    }
+
+    private List<PointHistory> selectAllFromRepository(long userId) {
+        return pointHistoryRepository.selectAllByUserId(userId);
+    }
+
+    /**
+     * 저장소가 인덱스를 유지할 때 한 유저의 비동기 기록 대기 중인 내역
+     * 대기 내역을 기록된 내역으로 교체하는 일과, 대기 내역이 있을 때의 전체 조회는 같은 락 안에서 일어나 누락되거나 중복되지 않습니다.
+     */
+    static final class PendingHistories {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<PendingPointHistory> pendings = new ArrayList<>();
+        private volatile int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(PendingPointHistory pending) {
+            lock.lock();
+            try {
+                pendings.add(pending);
+                size = pendings.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        PointHistory commit(PendingPointHistory pending, Supplier<PointHistory> insert) {
+            lock.lock();
+            try {
+                PointHistory pointHistory = insert.get();
+                pendings.remove(pending);
+                size = pendings.size();
+                return pointHistory;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void discard(PendingPointHistory pending) {
+            lock.lock();
+            try {
+                pendings.remove(pending);
+                size = pendings.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param committed 기록된 내역을 읽는 함수
+         * @return 기록된 내역 뒤에 대기 중인 내역(id = 0)을 대기열 순서로 이어 붙인 목록
+         */
+        List<PointHistory> appendTo(Supplier<List<PointHistory>> committed) {
+            if (size == 0) {
+                return Collections.unmodifiableList(committed.get());
+            }
+            lock.lock();
+            try {
+                List<PointHistory> merged = new ArrayList<>(committed.get());
+                pendings.forEach(pending -> merged.add(pending.toPointHistory()));
+                return Collections.unmodifiableList(merged);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 한 유저의 내역을 id 오름차순으로 보관하는 append-only 배열
+     * 쓰기는 락으로 직렬화하고, 읽기는 락 없이 size → rows 순서로 읽어 이미 게시된 원소만 봅니다.
+     * 집계는 내역을 추가할 때 새 PointHistorySummary로 교체하므로 락 없이 읽습니다.
+     * 대기 내역이 있을 때의 전체 조회와 순회만 락 안에서 기록된 내역의 끝과 대기 내역을 함께 읽어, 기록 중인 내역이 누락되거나 중복되지 않게 합니다.
+     */
+    static final class UserHistoryLog {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final List<PendingPointHistory> pendings = new ArrayList<>();
+        private volatile PointHistory[] rows;
+        private volatile int size;
+        private volatile int pendingSize;
+        private volatile PointHistorySummary summary;
+
+        private UserHistoryLog(PointHistory[] rows, int size, PointHistorySummary summary) {
+            this.rows = rows;
+            this.size = size;
+            this.summary = summary;
+        }
+
+        static UserHistoryLog of(long userId, List<PointHistory> histories) {
+            PointHistory[] rows = histories.stream()
+                    .sorted(Comparator.comparingLong(PointHistory::id))
+                    .toArray(PointHistory[]::new);
+            PointHistorySummary summary = PointHistorySummary.of(userId, Arrays.asList(rows));
+            return new UserHistoryLog(rows.length == 0 ? new PointHistory[INITIAL_CAPACITY] : rows, rows.length, summary);
+        }
+
+        PointHistorySummary summary() {
+            return summary;
+        }
+
+        void append(PointHistory pointHistory) {
+            writeLock.lock();
+            try {
+                appendLocked(pointHistory);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void addPending(PendingPointHistory pending) {
+            writeLock.lock();
+            try {
+                pendings.add(pending);
+                pendingSize = pendings.size();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void commit(PendingPointHistory pending, PointHistory pointHistory) {
+            writeLock.lock();
+            try {
+                appendLocked(pointHistory);
+                pendings.remove(pending);
+                pendingSize = pendings.size();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void discard(PendingPointHistory pending) {
+            writeLock.lock();
+            try {
+                pendings.remove(pending);
+                pendingSize = pendings.size();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void appendLocked(PointHistory pointHistory) {
+            int n = size;
+            PointHistory[] current = rows;
+            if (n > 0 && current[n - 1].id() >= pointHistory.id()) {
+                // 인덱스 초기화 과정에서 이미 포함되었거나, 순서가 뒤바뀌어 들어온 경우
+                if (insertOutOfOrder(pointHistory, current, n)) {
+                    summary = summary.add(pointHistory);
+                }
+                return;
+            }
+
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                rows = current;
+            }
+            current[n] = pointHistory;
+            size = n + 1;
+            summary = summary.add(pointHistory);
+        }
+
+        /**
+         * @return 추가되었다면 true, 이미 포함된 내역이라면 false
+         */
+        private boolean insertOutOfOrder(PointHistory pointHistory, PointHistory[] current, int n) {
+            List<PointHistory> merged = new ArrayList<>(Arrays.asList(current).subList(0, n));
+            boolean exists = merged.stream().anyMatch(history -> history.id() == pointHistory.id());
+            if (exists) {
+                return false;
+            }
+            merged.add(pointHistory);
+            merged.sort(Comparator.comparingLong(PointHistory::id));
+
+            PointHistory[] copied = merged.toArray(new PointHistory[Math.max(current.length, merged.size())]);
+            rows = copied;
+            size = merged.size();
+            return true;
+        }
+
+        PointHistoryPage page(PointHistoryQuery query) {
+            int n = size;
+            PointHistory[] snapshot = rows;
+
+            int start = query.cursor() == null ? 0 : indexAfter(snapshot, n, query.cursor());
+            List<PointHistory> content = new ArrayList<>(Math.min(query.size(), n - start));
+            for (int i = start; i < n; i++) {
+                PointHistory pointHistory = snapshot[i];
+                if (!query.matches(pointHistory)) {
+                    continue;
+                }
+                if (content.size() == query.size()) {
+                    // 조건에 맞는 내역이 더 남아있으므로 다음 페이지가 존재한다
+                    return new PointHistoryPage(content, content.get(content.size() - 1).id());
+                }
+                content.add(pointHistory);
+            }
+            return new PointHistoryPage(content, null);
+        }
+
+        /**
+         * @return id가 cursor보다 큰 첫 번째 원소의 위치
+         */
+        private static int indexAfter(PointHistory[] snapshot, int n, long cursor) {
+            int low = 0;
+            int high = n;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (snapshot[mid].id() <= cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void forEach(Consumer<PointHistory> action) {
+            if (pendingSize == 0) {
+                int n = size;
+                PointHistory[] snapshot = rows;
+                for (int i = 0; i < n; i++) {
+                    action.accept(snapshot[i]);
+                }
+                return;
+            }
+            toList().forEach(action);
+        }
+
+        List<PointHistory> toList() {
+            if (pendingSize == 0) {
+                int n = size;
+                return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(rows, n)));
+            }
+
+            writeLock.lock();
+            try {
+                int n = size;
+                List<PointHistory> merged = new ArrayList<>(n + pendings.size());
+                merged.addAll(Arrays.asList(rows).subList(0, n));
+                pendings.forEach(pending -> merged.add(pending.toPointHistory()));
+                return Collections.unmodifiableList(merged);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
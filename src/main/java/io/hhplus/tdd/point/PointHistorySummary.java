@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저의 포인트 내역을 트랜잭션 종류별로 집계한 요약
+ * 내역이 저장될 때마다 add로 새 요약을 만들어 교체하므로, 조회는 내역 수와 무관하게 O(1) 입니다.
+ *
+ * @param userId 유저id
+ * @param charge 충전 내역 집계
+ * @param use    사용 내역 집계
+ */
+public record PointHistorySummary(
+        long userId,
+        Stats charge,
+        Stats use
+) {
+
+    public static PointHistorySummary empty(long userId) {
+        return new PointHistorySummary(userId, Stats.EMPTY, Stats.EMPTY);
+    }
+
+    /**
+     * 주어진 내역으로 요약을 처음부터 다시 계산합니다.
+     *
+     * @param userId    유저id
+     * @param histories 유저의 포인트 내역
+     * @return PointHistorySummary
+     */
+    public static PointHistorySummary of(long userId, Iterable<PointHistory> histories) {
+        PointHistorySummary summary = empty(userId);
+        for (PointHistory pointHistory : histories) {
+            summary = summary.add(pointHistory);
+        }
+        return summary;
+    }
+
+    public Stats stats(TransactionType type) {
+        return switch (type) {
+            case CHARGE -> charge;
+            case USE -> use;
+        };
+    }
+
+    /**
+     * @return 내역 하나를 반영한 새 요약
+     */
+    public PointHistorySummary add(PointHistory pointHistory) {
+        return switch (pointHistory.type()) {
+            case CHARGE -> new PointHistorySummary(userId, charge.add(pointHistory), use);
+            case USE -> new PointHistorySummary(userId, charge, use.add(pointHistory));
+        };
+    }
+
+    /**
+     * 겹치지 않는 두 내역 구간의 요약을 합칩니다. (로그에 남겨 둔 내역과 저장소의 내역을 함께 집계할 때 사용)
+     *
+     * @return 두 구간의 내역을 모두 반영한 새 요약
+     */
+    public PointHistorySummary plus(PointHistorySummary other) {
+        return new PointHistorySummary(userId, charge.plus(other.charge), use.plus(other.use));
+    }
+
+    /**
+     * 한 트랜잭션 종류의 내역 집계 (내역이 없다면 모든 값이 0)
+     *
+     * @param count              건수
+     * @param sum                포인트 합계
+     * @param min                가장 작은 포인트
+     * @param max                가장 큰 포인트
+     * @param lastActivityMillis 가장 최근 내역의 시각
+     */
+    public record Stats(
+            long count,
+            long sum,
+            long min,
+            long max,
+            long lastActivityMillis
+    ) {
+        static final Stats EMPTY = new Stats(0, 0, 0, 0, 0);
+
+        Stats add(PointHistory pointHistory) {
+            long amount = pointHistory.amount();
+            if (count == 0) {
+                return new Stats(1, amount, amount, amount, pointHistory.updateMillis());
+            }
+            return new Stats(count + 1, sum + amount, Math.min(min, amount), Math.max(max, amount),
+                    Math.max(lastActivityMillis, pointHistory.updateMillis()));
+        }
+
+        Stats plus(Stats other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                return other;
+            }
+            return new Stats(count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max),
+                    Math.max(lastActivityMillis, other.lastActivityMillis));
+        }
+    }
+}
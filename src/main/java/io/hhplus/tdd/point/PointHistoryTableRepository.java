@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PointHistoryTable을 사용하는 내역 저장소 (point.storage.history=table)
+ * 테이블 호출 시간을 point.table.latency 지표로 기록합니다.
+ * 복구한 내역은 테이블을 거치지 않고 메모리에 적재하며, 이후 테이블에 저장되는 내역의 id는 복구한 마지막 id 뒤로 이어지도록 옮겨 반환합니다.
+ */
+public class PointHistoryTableRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, List<PointHistory>> restored = new ConcurrentHashMap<>();
+    private volatile long idOffset;
+    private volatile boolean inserted;
+
+    public PointHistoryTableRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        inserted = true;
+        return shift(pointMetrics.recordPointHistoryInsert(() -> pointHistoryTable.insert(userId, amount, type, updateMillis)));
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = pointMetrics.recordPointHistorySelect(() -> pointHistoryTable.selectAllByUserId(userId));
+        if (idOffset == 0) {
+            return histories;
+        }
+        List<PointHistory> restoredHistories = restored.getOrDefault(userId, List.of());
+        List<PointHistory> merged = new ArrayList<>(restoredHistories.size() + histories.size());
+        merged.addAll(restoredHistories);
+        histories.forEach(pointHistory -> merged.add(shift(pointHistory)));
+        return merged;
+    }
+
+    /**
+     * @throws IllegalStateException 테이블에 이미 내역이 저장된 경우 (테이블이 부여한 id와 겹치지 않게 할 수 없음)
+     */
+    @Override
+    public synchronized void restore(List<PointHistory> histories, long lastId) {
+        if (inserted) {
+            throw new IllegalStateException("내역이 저장된 뒤에는 복구할 수 없습니다.");
+        }
+        long restoredId = idOffset;
+        for (PointHistory pointHistory : histories) {
+            if (pointHistory.id() <= restoredId) {
+                throw new IllegalArgumentException("id는 마지막으로 복구한 id보다 커야 합니다: " + pointHistory.id());
+            }
+            restored.computeIfAbsent(pointHistory.userId(), id -> new ArrayList<>()).add(pointHistory);
+            restoredId = pointHistory.id();
+        }
+        idOffset = Math.max(restoredId, lastId);
+    }
+
+    private PointHistory shift(PointHistory pointHistory) {
+        long offset = idOffset;
+        if (offset == 0) {
+            return pointHistory;
+        }
+        return new PointHistory(pointHistory.id() + offset, pointHistory.userId(), pointHistory.amount(),
+                pointHistory.type(), pointHistory.updateMillis());
+    }
+}
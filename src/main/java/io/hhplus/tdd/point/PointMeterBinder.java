@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 각 컴포넌트가 자체적으로 집계하던 통계를 Micrometer 지표로 노출
+ * 값은 지표 수집 시점에 컴포넌트에서 읽어오므로 처리 경로에는 비용이 추가되지 않습니다.
+ */
+@Component
+public class PointMeterBinder implements MeterBinder {
+
+    private final UserPointCache userPointCache;
+    private final LockManager lockManager;
+    private final PointHistoryAppender pointHistoryAppender;
+    private final CasBalanceEngine casBalanceEngine;
+    private final PointActorExecutor pointActorExecutor;
+    private final IdempotencyCache idempotencyCache;
+    private final PointReadCoalescer pointReadCoalescer;
+    private final PublishedUserPoints publishedUserPoints;
+
+    public PointMeterBinder(UserPointCache userPointCache, LockManager lockManager,
+                            PointHistoryAppender pointHistoryAppender, CasBalanceEngine casBalanceEngine,
+                            PointActorExecutor pointActorExecutor, IdempotencyCache idempotencyCache,
+                            PointReadCoalescer pointReadCoalescer, PublishedUserPoints publishedUserPoints) {
+        this.userPointCache = userPointCache;
+        this.lockManager = lockManager;
+        this.pointHistoryAppender = pointHistoryAppender;
+        this.casBalanceEngine = casBalanceEngine;
+        this.pointActorExecutor = pointActorExecutor;
+        this.idempotencyCache = idempotencyCache;
+        this.pointReadCoalescer = pointReadCoalescer;
+        this.publishedUserPoints = publishedUserPoints;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().hitCount())
+                .description("UserPoint 캐시 조회 횟수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", userPointCache, cache -> cache.stats().missCount())
+                .description("UserPoint 캐시 조회 횟수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", userPointCache, cache -> cache.stats().evictionCount())
+                .description("크기 제한으로 제거된 UserPoint 캐시 항목 수")
+                .register(registry);
+        Gauge.builder("point.cache.size", userPointCache, cache -> cache.stats().size())
+                .description("캐시된 UserPoint 수")
+                .register(registry);
+
+        Gauge.builder("point.lock.count", lockManager, LockManager::lockCount)
+                .description("관리 중인 유저 락 수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.contentions", lockManager, LockManager::totalContentions)
+                .description("STRIPED 모드에서 다른 스레드가 잡고 있어 기다려야 했던 횟수")
+                .register(registry);
+
+        Gauge.builder("point.history.append.pending", pointHistoryAppender, PointHistoryAppender::pendingCount)
+                .description("기록 대기 중인 포인트 내역 수")
+                .register(registry);
+
+        Gauge.builder("point.cas.dirty", casBalanceEngine, CasBalanceEngine::dirtyCount)
+                .description("UserPointTable에 반영 대기 중인 유저 수")
+                .register(registry);
+        Gauge.builder("point.cas.balances", casBalanceEngine, CasBalanceEngine::balanceCount)
+                .description("메모리에 잔고를 보관 중인 유저 수")
+                .register(registry);
+
+        Gauge.builder("point.actor.mailbox.depth", pointActorExecutor, executor -> sum(executor.queueDepths()))
+                .description("모든 메일박스에 대기 중인 작업 수")
+                .register(registry);
+        Gauge.builder("point.actor.mailbox.imbalance", pointActorExecutor, executor -> imbalance(executor.queueDepths()))
+                .description("가장 붐비는 메일박스의 대기 작업 수 / 메일박스 평균 대기 작업 수")
+                .register(registry);
+
+        FunctionCounter.builder("point.idempotency.requests", idempotencyCache, cache -> cache.stats().hitCount())
+                .description("Idempotency-Key가 있는 충전/사용 요청 수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.requests", idempotencyCache, cache -> cache.stats().missCount())
+                .description("Idempotency-Key가 있는 충전/사용 요청 수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.evictions", idempotencyCache, cache -> cache.stats().sizeEvictionCount())
+                .description("제거된 멱등키 수")
+                .tag("reason", "size")
+                .register(registry);
+        FunctionCounter.builder("point.idempotency.evictions", idempotencyCache, cache -> cache.stats().expiredEvictionCount())
+                .description("제거된 멱등키 수")
+                .tag("reason", "expired")
+                .register(registry);
+        Gauge.builder("point.idempotency.size", idempotencyCache, cache -> cache.stats().size())
+                .description("보관 중인 멱등키 수")
+                .register(registry);
+        Gauge.builder("point.idempotency.memory", idempotencyCache, cache -> cache.stats().estimatedBytes())
+                .description("보관 중인 멱등키가 차지하는 대략적인 메모리")
+                .baseUnit("bytes")
+                .register(registry);
+
+        FunctionCounter.builder("point.read.flights", pointReadCoalescer, PointReadCoalescer::flightCount)
+                .description("저장소를 조회한 포인트/내역 조회 수")
+                .register(registry);
+        FunctionCounter.builder("point.read.coalesced", pointReadCoalescer, PointReadCoalescer::coalescedCount)
+                .description("진행 중인 조회에 묶여 저장소 조회를 생략한 포인트/내역 조회 수")
+                .register(registry);
+        FunctionCounter.builder("point.read.published", publishedUserPoints, PublishedUserPoints::hitCount)
+                .description("게시된 UserPoint로 락 없이 응답한 잔고 조회 수")
+                .register(registry);
+        Gauge.builder("point.published.size", publishedUserPoints, PublishedUserPoints::size)
+                .description("UserPoint가 게시된 유저 수")
+                .register(registry);
+        FunctionCounter.builder("point.published.evictions", publishedUserPoints, PublishedUserPoints::evictionCount)
+                .description("최대 수를 넘어 게시를 철회한 유저 수")
+                .register(registry);
+    }
+
+    private static double sum(int[] depths) {
+        long total = 0;
+        for (int depth : depths) {
+            total += depth;
+        }
+        return total;
+    }
+
+    private static double imbalance(int[] depths) {
+        double total = sum(depths);
+        if (total == 0) {
+            return 0;
+        }
+        int max = 0;
+        for (int depth : depths) {
+            max = Math.max(max, depth);
+        }
+        return max / (total / depths.length);
+    }
+}
@@ -0,0 +1,167 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 구간별 Micrometer 지표
+ * <ul>
+ *     <li> point.lock.wait / point.lock.hold: 유저 락을 기다린 시간과 잡고 있던 시간</li>
+ *     <li> point.table.latency: UserPointTable/PointHistoryTable 호출 시간 (table, operation 태그)</li>
+ *     <li> point.lock.rejected: 락 대기 시간 초과나 대기열 초과로 거절된 요청 수 (reason 태그)</li>
+ *     <li> point.operation: 충전/사용 처리 시간과 건수 (type, outcome 태그)</li>
+ *     <li> point.actor.queue / point.actor.task: ACTOR 모드에서 작업이 메일박스에서 기다린 시간과 실행 시간</li>
+ *     <li> point.recovery: 시작 시 스냅샷과 로그로 잔고와 내역을 복구하는 데 걸린 시간</li>
+ * </ul>
+ * 호출마다 Timer를 찾지 않도록 생성 시점에 필요한 Timer를 모두 등록해 둡니다.
+ */
+@Component
+public class PointMetrics {
+
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Counter lockTimeout;
+    private final Counter lockQueueFull;
+    private final Timer userPointSelect;
+    private final Timer userPointUpsert;
+    private final Timer pointHistoryInsert;
+    private final Timer pointHistorySelect;
+    private final Timer actorQueue;
+    private final Timer actorTask;
+    private final Timer recovery;
+    private final Timer[][] operations = new Timer[TransactionType.values().length][2];
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.lockWait = histogram("point.lock.wait", "유저 락 획득 대기 시간").register(meterRegistry);
+        this.lockHold = histogram("point.lock.hold", "유저 락 보유 시간").register(meterRegistry);
+        this.lockTimeout = lockRejected(meterRegistry, "timeout");
+        this.lockQueueFull = lockRejected(meterRegistry, "queue_full");
+        this.userPointSelect = tableTimer(meterRegistry, "user_point", "selectById");
+        this.userPointUpsert = tableTimer(meterRegistry, "user_point", "insertOrUpdate");
+        this.pointHistoryInsert = tableTimer(meterRegistry, "point_history", "insert");
+        this.pointHistorySelect = tableTimer(meterRegistry, "point_history", "selectAllByUserId");
+        this.actorQueue = histogram("point.actor.queue", "메일박스 대기 시간").register(meterRegistry);
+        this.actorTask = histogram("point.actor.task", "메일박스 작업 실행 시간").register(meterRegistry);
+        this.recovery = Timer.builder("point.recovery")
+                .description("시작 시 잔고와 내역 복구 시간")
+                .register(meterRegistry);
+
+        for (TransactionType type : TransactionType.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                operations[type.ordinal()][outcome.ordinal()] = Timer.builder("point.operation")
+                        .description("포인트 충전/사용 처리 시간")
+                        .tag("type", type.name())
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockTimeout() {
+        lockTimeout.increment();
+    }
+
+    public void recordLockQueueFull() {
+        lockQueueFull.increment();
+    }
+
+    public void recordActorTask(long queuedNanos, long runNanos) {
+        actorQueue.record(queuedNanos, TimeUnit.NANOSECONDS);
+        actorTask.record(runNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRecovery(long nanos) {
+        recovery.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T recordUserPointSelect(Supplier<T> call) {
+        return userPointSelect.record(call);
+    }
+
+    public <T> T recordUserPointUpsert(Supplier<T> call) {
+        return userPointUpsert.record(call);
+    }
+
+    public <T> T recordPointHistoryInsert(Supplier<T> call) {
+        return pointHistoryInsert.record(call);
+    }
+
+    public <T> T recordPointHistorySelect(Supplier<T> call) {
+        return pointHistorySelect.record(call);
+    }
+
+    /**
+     * 충전/사용 처리 시간을 성공/실패로 나누어 기록합니다.
+     *
+     * @param type      거래 유형
+     * @param operation 충전/사용 처리
+     * @return 처리 결과
+     */
+    public <T> T recordOperation(TransactionType type, Supplier<T> operation) {
+        long startedAt = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = operation.get();
+            success = true;
+            return result;
+        } finally {
+            recordOperation(type, success, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 이미 측정한 충전/사용 처리 시간을 성공/실패로 나누어 기록합니다. (여러 항목을 함께 처리하는 일괄 요청에서 사용)
+     *
+     * @param type    거래 유형
+     * @param success 성공 여부
+     * @param nanos   처리 시간
+     */
+    public void recordOperation(TransactionType type, boolean success, long nanos) {
+        Outcome outcome = success ? Outcome.SUCCESS : Outcome.FAILURE;
+        operations[type.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter lockRejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.lock.rejected")
+                .description("유저 락을 얻지 못해 거절된 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Timer tableTimer(MeterRegistry meterRegistry, String table, String operation) {
+        return histogram("point.table.latency", "테이블 호출 시간")
+                .tag("table", table)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Timer.Builder histogram(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram();
+    }
+
+    private enum Outcome {
+        SUCCESS("success"),
+        FAILURE("failure");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * 같은 유저에 대한 동시 조회를 하나의 조회로 묶는 single-flight 처리기 (point.read.coalesce=true)
+ * <ul>
+ *     <li> 유저별로 진행 중인 조회(flight)가 있다면 새로 조회하지 않고 그 결과(또는 Error를 포함한 예외)를 함께 받습니다.</li>
+ *     <li> LOCK, GROUP_COMMIT 모드에서는 첫 요청이 유저 락을 잡고 조회하며, 락을 풀기 전에 flight를 목록에서 제거합니다.
+ *     따라서 충전/사용이 끝난 뒤 들어온 조회는 그 이전에 시작된 조회 결과를 받지 않고, 처리 중인 충전/사용의 중간 상태도 보지 않습니다.
+ *     락을 기다리는 동안 들어온 조회는 모두 하나의 flight로 묶이므로 락 획득도 한 번만 일어납니다.</li>
+ *     <li> ACTOR 모드는 충전/사용이 유저 락을 쓰지 않으므로 락 없이 조회하며, 조회가 끝나면 flight를 제거합니다.</li>
+ * </ul>
+ * 결과는 여러 요청이 함께 사용하므로 변경할 수 없는 객체여야 합니다. (UserPoint, 읽기 전용 내역 리스트)
+ */
+@Component
+public class PointReadCoalescer {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> pointFlights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<List<PointHistory>>> historyFlights = new ConcurrentHashMap<>();
+    private final LockManager lockManager;
+    private final boolean enabled;
+    private final boolean underLock;
+
+    private final LongAdder flightCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public PointReadCoalescer(PointReadProperties readProperties, PointWriteProperties writeProperties, LockManager lockManager) {
+        this.lockManager = lockManager;
+        this.enabled = readProperties.coalesce();
+        this.underLock = writeProperties.mode() == PointWriteMode.LOCK || writeProperties.mode() == PointWriteMode.GROUP_COMMIT;
+    }
+
+    /**
+     * @param id     유저id
+     * @param lookup 묶인 조회 중 한 번만 실행할 UserPoint 조회
+     * @return UserPoint
+     */
+    public UserPoint getPoint(long id, Supplier<UserPoint> lookup) {
+        return coalesce(pointFlights, id, lookup);
+    }
+
+    /**
+     * @param userId 유저id
+     * @param lookup 묶인 조회 중 한 번만 실행할 내역 조회 (읽기 전용 리스트를 반환해야 함)
+     * @return 포인트 내역
+     */
+    public List<PointHistory> getHistories(long userId, Supplier<List<PointHistory>> lookup) {
+        return coalesce(historyFlights, userId, lookup);
+    }
+
+    /**
+     * @return 실제로 실행된 조회 수
+     */
+    public long flightCount() {
+        return flightCount.sum();
+    }
+
+    /**
+     * @return 진행 중인 조회에 묶여 조회를 생략한 요청 수
+     */
+    public long coalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    private <T> T coalesce(ConcurrentHashMap<Long, CompletableFuture<T>> flights, long id, Supplier<T> lookup) {
+        if (!enabled) {
+            return lookup.get();
+        }
+
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> inFlight = flights.putIfAbsent(id, flight);
+        if (inFlight != null) {
+            coalescedCount.increment();
+            return join(inFlight);
+        }
+
+        flightCount.increment();
+        T result;
+        try {
+            result = lookup(flights, id, flight, lookup);
+        } catch (Throwable e) {
+            // Error도 flight를 완료해야 결과를 기다리는 요청이 멈추지 않는다
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        flight.complete(result);
+        return result;
+    }
+
+    private <T> T lookup(ConcurrentHashMap<Long, CompletableFuture<T>> flights, long id, CompletableFuture<T> flight, Supplier<T> lookup) {
+        Lock lock = null;
+        try {
+            if (underLock) {
+                lock = lockManager.acquire(id); // 대기 한도를 넘으면 PointBusyException
+            }
+            return lookup.get();
+        } finally {
+            // 락을 풀기 전에 제거해야 이후의 충전/사용 뒤에 들어온 조회가 이 결과를 받지 않는다
+            flights.remove(id, flight);
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
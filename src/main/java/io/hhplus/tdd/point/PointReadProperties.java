@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트/내역 조회 설정 (point.read.*)
+ *
+ * @param coalesce         같은 유저에 대한 동시 조회를 하나의 조회로 묶을지 여부
+ * @param published        마지막으로 저장된 UserPoint를 게시해 락과 저장소 조회 없이 잔고를 조회할지 여부
+ * @param publishedMaxSize UserPoint를 게시해 둘 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.read")
+public record PointReadProperties(
+        @DefaultValue("true") boolean coalesce,
+        @DefaultValue("true") boolean published,
+        @DefaultValue("100000") int publishedMaxSize
+) {
+    public PointReadProperties {
+        if (publishedMaxSize < 1) {
+            throw new IllegalArgumentException("publishedMaxSize는 1 이상이어야 합니다.");
+        }
+    }
+}
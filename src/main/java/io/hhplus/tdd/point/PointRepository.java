@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import java.util.Collection;
+
+/**
+ * 유저 잔고 저장소 (point.storage.balance로 구현체 선택)
+ */
+public interface PointRepository {
+
+    /**
+     * @param id 유저id
+     * @return 저장된 UserPoint, 없다면 포인트가 0인 UserPoint
+     */
+    UserPoint selectById(long id);
+
+    /**
+     * @param id    유저id
+     * @param point 저장할 포인트
+     * @return 저장된 UserPoint
+     */
+    UserPoint insertOrUpdate(long id, long point);
+
+    /**
+     * 복구한 잔고를 저장 지연 없이 한 번에 적재합니다. (애플리케이션 시작 시, 충전/사용을 받기 전에 사용)
+     * insertOrUpdate와 달리 updateMillis는 복구한 값을 그대로 유지합니다.
+     *
+     * @param userPoints 적재할 UserPoint 목록
+     */
+    void restore(Collection<UserPoint> userPoints);
+
+    /**
+     * @return 앞단에 UserPointCache를 둘 필요가 있는 저장소라면 true (락 없이 읽히는 메모리 저장소는 false)
+     */
+    default boolean cacheable() {
+        return true;
+    }
+}
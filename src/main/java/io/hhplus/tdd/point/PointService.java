@@ -1,45 +1,83 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 
 @Service
 public class PointService {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final UserPointCache userPointCache;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointHistoryAppender pointHistoryAppender;
     private final LockManager lockManager;
-
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, LockManager lockManager) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    private final PointGroupCommitter pointGroupCommitter;
+    private final CasBalanceEngine casBalanceEngine;
+    private final PointActorExecutor pointActorExecutor;
+    private final PointReadCoalescer pointReadCoalescer;
+    private final PointWriteProperties writeProperties;
+    private final PointMetrics pointMetrics;
+
+    public PointService(UserPointCache userPointCache, PointHistoryStore pointHistoryStore,
+                        PointHistoryAppender pointHistoryAppender, LockManager lockManager,
+                        PointGroupCommitter pointGroupCommitter, CasBalanceEngine casBalanceEngine,
+                        PointActorExecutor pointActorExecutor, PointReadCoalescer pointReadCoalescer,
+                        PointWriteProperties writeProperties, PointMetrics pointMetrics) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointHistoryAppender = pointHistoryAppender;
         this.lockManager = lockManager;
+        this.pointGroupCommitter = pointGroupCommitter;
+        this.casBalanceEngine = casBalanceEngine;
+        this.pointActorExecutor = pointActorExecutor;
+        this.pointReadCoalescer = pointReadCoalescer;
+        this.writeProperties = writeProperties;
+        this.pointMetrics = pointMetrics;
     }
 
+    /**
+     * 마지막으로 저장된 잔고가 게시되어 있다면 락과 테이블 조회 없이 반환합니다. (PublishedUserPoints)
+     * 게시되지 않았고 캐시되지 않은 유저를 동시에 조회하면 UserPointTable 조회를 한 번만 하고 결과를 함께 사용합니다. (PointReadCoalescer)
+     */
     public UserPoint getPoint(Long id) {
-        return userPointTable.selectById(id);
+        if (writeProperties.mode() == PointWriteMode.CAS) {
+            return casBalanceEngine.get(id);
+        }
+        UserPoint cached = userPointCache.selectIfCheap(id);
+        if (cached != null) {
+            return cached;
+        }
+        return pointReadCoalescer.getPoint(id, () -> userPointCache.selectById(id));
     }
 
     public UserPoint usePoint(Long id, long amount) {
-        Lock lock = lockManager.getLock(id); // id로 부터 lock을 가져온다
-        lock.lock();
+        return pointMetrics.recordOperation(TransactionType.USE, () -> switch (writeProperties.mode()) {
+            case LOCK -> usePointWithLock(id, amount);
+            case GROUP_COMMIT -> pointGroupCommitter.use(id, amount);
+            case CAS -> casBalanceEngine.use(id, amount);
+            case ACTOR -> await(pointActorExecutor.use(id, amount));
+        });
+    }
+
+    private UserPoint usePointWithLock(Long id, long amount) {
+        Lock lock = lockManager.acquire(id); // id로 부터 lock을 가져와 획득한다 (대기 한도를 넘으면 PointBusyException)
 
         try {
             // userPoint 조회
-            UserPoint userPoint = userPointTable.selectById(id);
+            UserPoint userPoint = userPointCache.selectById(id);
 
             // userPoint 사용
             UserPoint usedUserPoint = userPoint.use(amount);
 
             // 사용된 userPoint 저장
-            userPointTable.insertOrUpdate(usedUserPoint.id(), usedUserPoint.point());
+            userPointCache.insertOrUpdate(usedUserPoint.id(), usedUserPoint.point());
 
             // pointHistory 저장
-            pointHistoryTable.insert(id, amount, TransactionType.USE, usedUserPoint.updateMillis());
+            pointHistoryAppender.append(id, amount, TransactionType.USE, usedUserPoint.updateMillis());
 
             return usedUserPoint;
         } finally {
@@ -48,21 +86,29 @@ public class PointService {
     }
 
     public UserPoint chargePoint(Long id, long amount) {
-        Lock lock = lockManager.getLock(id); // id로 부터 lock을 가져온다
-        lock.lock();
+        return pointMetrics.recordOperation(TransactionType.CHARGE, () -> switch (writeProperties.mode()) {
+            case LOCK -> chargePointWithLock(id, amount);
+            case GROUP_COMMIT -> pointGroupCommitter.charge(id, amount);
+            case CAS -> casBalanceEngine.charge(id, amount);
+            case ACTOR -> await(pointActorExecutor.charge(id, amount));
+        });
+    }
+
+    private UserPoint chargePointWithLock(Long id, long amount) {
+        Lock lock = lockManager.acquire(id); // id로 부터 lock을 가져와 획득한다 (대기 한도를 넘으면 PointBusyException)
 
         try {
             // userPoint 조회
-            UserPoint userPoint = userPointTable.selectById(id);
+            UserPoint userPoint = userPointCache.selectById(id);
 
             // userPoint 충전
             UserPoint chargedUserPoint = userPoint.charge(amount);
 
             // 충전된 userPoint 저장
-            userPointTable.insertOrUpdate(chargedUserPoint.id(), chargedUserPoint.point());
+            userPointCache.insertOrUpdate(chargedUserPoint.id(), chargedUserPoint.point());
 
             // pointHistory 저장
-            pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+            pointHistoryAppender.append(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
 
             return chargedUserPoint;
         } finally {
@@ -70,7 +116,46 @@ public class PointService {
         }
     }
 
+    /**
+     * 메일박스의 처리 결과를 기다리고, 처리 중 발생한 예외는 감싸지 않고 그대로 던집니다.
+     */
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 인덱스가 없는 유저를 동시에 조회하면 PointHistoryTable 조회를 한 번만 하고 결과를 함께 사용합니다. (PointReadCoalescer)
+     */
     public List<PointHistory> getUserPointHistory(Long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        if (pointHistoryStore.isIndexed(userId)) {
+            return pointHistoryStore.selectAllByUserId(userId);
+        }
+        return pointReadCoalescer.getHistories(userId, () -> pointHistoryStore.selectAllByUserId(userId));
+    }
+
+    public PointHistorySummary getUserPointSummary(Long userId) {
+        return pointHistoryStore.summarize(userId);
+    }
+
+    public void forEachUserPointHistory(Long userId, Consumer<PointHistory> action) {
+        pointHistoryStore.forEachByUserId(userId, action);
+    }
+
+    public void forEachPointHistory(Consumer<PointHistory> action) {
+        pointHistoryStore.forEach(action);
+    }
+
+    public PointHistoryPage getUserPointHistoryPage(Long userId, PointHistoryQuery query) {
+        return pointHistoryStore.findPage(userId, query);
     }
 }
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 특정 로그 순번까지 반영된 전체 유저 잔고
+ * 파일에는 바이너리로 기록합니다: magic(4) version(4) lastSequence(8) count(4) [id(8) point(8) updateMillis(8)] * count crc32c(4)
+ *
+ * @param lastSequence 스냅샷에 반영된 마지막 로그 순번
+ * @param balances     유저id별 잔고
+ */
+public record PointSnapshot(
+        long lastSequence,
+        Map<Long, Balance> balances
+) {
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int ENTRY_BYTES = 24;
+    private static final int CHECKSUM_BYTES = 4;
+
+    public static PointSnapshot empty() {
+        return new PointSnapshot(0, Map.of());
+    }
+
+    /**
+     * 유저 잔고
+     *
+     * @param point        잔고
+     * @param updateMillis 마지막 충전/사용 시각
+     */
+    public record Balance(long point, long updateMillis) {
+
+        public Balance apply(PointCommitLogRecord record) {
+            long delta = record.type() == TransactionType.CHARGE ? record.amount() : -record.amount();
+            return new Balance(point + delta, record.updateMillis());
+        }
+    }
+
+    /**
+     * 임시 파일에 모두 기록하고 동기화한 뒤 target으로 옮기므로, 기록 도중 중단되어도 target은 온전한 스냅샷이거나 존재하지 않습니다.
+     */
+    public void writeTo(Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastSequence);
+            out.writeInt(balances.size());
+            for (Map.Entry<Long, Balance> entry : balances.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeLong(entry.getValue().point());
+                out.writeLong(entry.getValue().updateMillis());
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return 스냅샷, 파일이 손상되었다면 null
+     */
+    public static PointSnapshot readFrom(Path source) throws IOException {
+        try (InputStream file = Files.newInputStream(source)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long lastSequence = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || HEADER_BYTES + (long) ENTRY_BYTES * count + CHECKSUM_BYTES != Files.size(source)) {
+                return null;
+            }
+            Map<Long, Balance> balances = new HashMap<>((int) (count / 0.75f) + 1);
+            for (int i = 0; i < count; i++) {
+                balances.put(in.readLong(), new Balance(in.readLong(), in.readLong()));
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected || in.read() != -1) {
+                return null;
+            }
+            return new PointSnapshot(lastSequence, balances);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
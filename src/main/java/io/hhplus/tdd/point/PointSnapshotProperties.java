@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 잔고 스냅샷 설정 (point.snapshot.*), 포인트 로그(point.commit-log.enabled=true)와 함께 사용
+ *
+ * @param enabled   true면 주기적으로 잔고 스냅샷을 남기고, 시작 시 최신 스냅샷과 그 이후의 로그만 재생해 복구
+ * @param directory 스냅샷 파일을 저장할 디렉터리
+ * @param interval  스냅샷 주기
+ * @param retain    보관할 스냅샷 파일 수 (최신 스냅샷이 손상된 경우 이전 스냅샷으로 복구)
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record PointSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshot") Path directory,
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("2") int retain
+) {
+    public PointSnapshotProperties {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval은 0보다 커야 합니다.");
+        }
+        if (retain < 1) {
+            throw new IllegalArgumentException("retain은 1 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 잔고 스냅샷 생성기 (point.snapshot.enabled=true, point.commit-log.enabled=true)
+ * <ul>
+ *     <li> 충전/사용 처리 중인 잔고를 직접 읽지 않고, 직전 스냅샷에 그 이후의 로그 레코드를 반영해 다음 스냅샷을 만듭니다.
+ *     따라서 스냅샷은 항상 정확히 lastSequence까지의 잔고이며, 충전/사용 요청을 멈추거나 락을 잡지 않습니다.</li>
+ *     <li> 디스크에 동기화된 로그까지만 반영하므로 스냅샷에는 유실될 수 있는 기록이 들어가지 않습니다.</li>
+ *     <li> interval마다 lastSequence를 이름으로 하는 파일에 기록하고, 최신 retain개만 남깁니다.</li>
+ *     <li> 스냅샷을 남긴 뒤 남아 있는 가장 오래된 스냅샷의 lastSequence까지의 로그를 보관 파일로 옮기고 해당 세그먼트를 지우므로(PointCommitLog.archive),
+ *     로그 디렉터리가 끝없이 커지지 않으면서도 내역은 보관 파일에서 복구할 수 있습니다.</li>
+ *     <li> 시작 시 읽을 수 있는 가장 최신 스냅샷을 불러오며, 복구(PointCommitLogRecovery)는 이 스냅샷에 그 이후의 로그만 반영해 잔고를 복구합니다.</li>
+ * </ul>
+ */
+@Component
+public class PointSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final PointCommitLog pointCommitLog;
+    private final boolean enabled;
+    private final Path directory;
+    private final long intervalNanos;
+    private final int retain;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Map<Long, PointSnapshot.Balance> balances = new HashMap<>();
+    private final PointSnapshot loaded;
+    private long lastSequence;
+
+    private volatile boolean running = true;
+    private final Thread snapshotter;
+
+    public PointSnapshotter(PointSnapshotProperties snapshotProperties, PointCommitLog pointCommitLog,
+                            PointThreadFactory pointThreadFactory) {
+        this.pointCommitLog = pointCommitLog;
+        this.enabled = snapshotProperties.enabled() && pointCommitLog.isEnabled();
+        this.directory = snapshotProperties.directory();
+        this.intervalNanos = snapshotProperties.interval().toNanos();
+        this.retain = snapshotProperties.retain();
+
+        if (!enabled) {
+            this.loaded = PointSnapshot.empty();
+            this.snapshotter = null;
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 만들 수 없습니다: " + directory, e);
+        }
+        this.loaded = loadLatest();
+        this.balances.putAll(loaded.balances());
+        this.lastSequence = loaded.lastSequence();
+        this.snapshotter = pointThreadFactory.start("point-snapshotter", this::snapshotLoop);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return 시작 시 불러온 스냅샷 (스냅샷이 없거나 비활성화 상태면 빈 스냅샷)
+     */
+    public PointSnapshot loaded() {
+        return loaded;
+    }
+
+    /**
+     * 직전 스냅샷 이후 동기화된 로그를 반영해 새 스냅샷을 기록합니다. 반영할 로그가 없다면 기록하지 않습니다.
+     *
+     * @return 스냅샷에 반영된 마지막 로그 순번
+     */
+    public long snapshot() {
+        if (!enabled) {
+            return 0;
+        }
+        snapshotLock.lock();
+        try {
+            long before = lastSequence;
+            lastSequence = pointCommitLog.replay(lastSequence, pointCommitLog.syncedSequence(), record ->
+                    balances.compute(record.userId(), (id, balance) ->
+                            (balance == null ? new PointSnapshot.Balance(0, 0) : balance).apply(record)));
+            if (lastSequence == before) {
+                return lastSequence;
+            }
+
+            long startedAt = System.nanoTime();
+            new PointSnapshot(lastSequence, balances).writeTo(directory.resolve(String.format("%020d%s", lastSequence, SNAPSHOT_SUFFIX)));
+            deleteOldSnapshots();
+            long archivedSequence = pointCommitLog.archive(oldestSnapshotSequence());
+            log.info("잔고 스냅샷 기록: 유저 {}명, lastSequence={}, archivedSequence={}, {}ms",
+                    balances.size(), lastSequence, archivedSequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return lastSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔고 스냅샷을 기록할 수 없습니다: " + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * 주기적인 스냅샷을 멈추고, 다음 시작 시 재생할 로그를 줄이기 위해 마지막 스냅샷을 남깁니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        snapshotter.interrupt();
+        snapshotter.join();
+        snapshot();
+    }
+
+    private PointSnapshot loadLatest() {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            try {
+                PointSnapshot snapshot = PointSnapshot.readFrom(path);
+                if (snapshot != null) {
+                    log.info("잔고 스냅샷을 불러왔습니다: {}, 유저 {}명", path.getFileName(), snapshot.balances().size());
+                    return snapshot;
+                }
+            } catch (IOException e) {
+                log.warn("잔고 스냅샷을 읽을 수 없습니다: {}", path, e);
+            }
+            log.warn("손상된 잔고 스냅샷을 건너뜁니다: {}", path);
+        }
+        return PointSnapshot.empty();
+    }
+
+    private void deleteOldSnapshots() throws IOException {
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - retain; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    /**
+     * @return 남아 있는 가장 오래된 스냅샷의 lastSequence (최신 스냅샷이 손상되면 이 스냅샷부터 다시 재생해야 한다)
+     */
+    private long oldestSnapshotSequence() {
+        String name = snapshots().get(0).getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private List<Path> snapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 읽을 수 없습니다: " + directory, e);
+        }
+    }
+
+    private void snapshotLoop() {
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.error("잔고 스냅샷 기록 실패", e);
+            }
+        }
+    }
+}
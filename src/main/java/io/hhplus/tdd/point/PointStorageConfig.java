@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.storage.* 설정에 따라 잔고/내역 저장소 구현체를 선택
+ * 서비스 계층은 PointRepository/PointHistoryRepository만 의존하므로 저장소를 바꿔도 처리 로직은 그대로입니다.
+ */
+@Configuration
+public class PointStorageConfig {
+
+    @Bean
+    public PointRepository pointRepository(PointStorageProperties storageProperties, UserPointTable userPointTable,
+                                           PointMetrics pointMetrics) {
+        return switch (storageProperties.balance()) {
+            case TABLE -> new UserPointTableRepository(userPointTable, pointMetrics);
+            case PACKED -> new PackedUserPointRepository();
+        };
+    }
+
+    @Bean
+    public PointHistoryRepository pointHistoryRepository(PointStorageProperties storageProperties, PointHistoryTable pointHistoryTable,
+                                                         PointMetrics pointMetrics) {
+        return switch (storageProperties.history()) {
+            case TABLE -> new PointHistoryTableRepository(pointHistoryTable, pointMetrics);
+            case COLUMNAR -> new ColumnarPointHistoryStore();
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 저장소 설정 (point.storage.*)
+ *
+ * @param balance 잔고 저장소
+ * @param history 내역 저장소
+ */
+@ConfigurationProperties(prefix = "point.storage")
+public record PointStorageProperties(
+        @DefaultValue("TABLE") Balance balance,
+        @DefaultValue("TABLE") History history
+) {
+    /**
+     * 잔고 저장소
+     * - TABLE : UserPointTable (UserPointCache를 앞에 두고 사용)
+     * - PACKED : 유저id → pack한 잔고/수정 시각을 primitive 배열에 보관하는 PackedUserPointRepository (캐시를 사용하지 않음)
+     */
+    public enum Balance {
+        TABLE, PACKED
+    }
+
+    /**
+     * 내역 저장소
+     * - TABLE : PointHistoryTable
+     * - COLUMNAR : 컬럼별 primitive 배열에 보관하는 ColumnarPointHistoryStore
+     */
+    public enum History {
+        TABLE, COLUMNAR
+    }
+}
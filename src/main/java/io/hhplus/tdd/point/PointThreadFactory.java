@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 포인트 모듈 내부 백그라운드 스레드 생성기
+ * spring.threads.virtual.enabled=true (Java 21 이상)이면 Tomcat 요청 스레드와 마찬가지로 가상 스레드를 사용합니다.
+ * 내부 동기화는 모두 ReentrantLock 기반이므로 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않습니다.
+ */
+@Component
+public class PointThreadFactory {
+
+    private final boolean virtual;
+    // 소스 호환성이 Java 17이므로 Thread.ofVirtual() 대신 Spring의 VirtualThreadTaskExecutor로 한 번만 만들어 재사용
+    private final ThreadFactory virtualThreadFactory;
+
+    public PointThreadFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+        this.virtualThreadFactory = virtual ? new VirtualThreadTaskExecutor().getVirtualThreadFactory() : null;
+    }
+
+    /**
+     * @param name 스레드 이름
+     * @param task 실행할 작업
+     * @return 시작된 스레드
+     */
+    public Thread start(String name, Runnable task) {
+        Thread thread = newThread(name, task);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * 스레드 풀 등에서 사용할 ThreadFactory를 반환합니다.
+     *
+     * @param namePrefix 스레드 이름 접두사 (뒤에 순번이 붙음)
+     * @return ThreadFactory
+     */
+    public ThreadFactory threadFactory(String namePrefix) {
+        if (virtual) {
+            // 접두사 뒤에 0부터 순번을 붙이는 가상 스레드 ThreadFactory (Thread.ofVirtual().name(namePrefix, 0).factory())
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return task -> newThread(namePrefix + sequence.getAndIncrement(), task);
+    }
+
+    private Thread newThread(String name, Runnable task) {
+        if (virtual) {
+            Thread thread = virtualThreadFactory.newThread(task);
+            thread.setName(name);
+            return thread;
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 처리 방식
+ * - LOCK : 유저별 락을 잡고 요청마다 조회/저장/내역 기록
+ * - GROUP_COMMIT : 유저별로 동시 요청을 모아 한 번의 저장으로 반영
+ * - CAS : 메모리상의 잔고를 compare-and-set으로 갱신하고 테이블에는 비동기로 반영
+ * - ACTOR : 유저별로 고정된 단일 스레드 메일박스가 요청을 순서대로 처리 (락 없음)
+ */
+public enum PointWriteMode {
+    LOCK, GROUP_COMMIT, CAS, ACTOR
+}
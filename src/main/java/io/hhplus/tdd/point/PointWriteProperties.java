@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 충전/사용 처리 설정 (point.write.*)
+ *
+ * @param mode        충전/사용 처리 방식
+ * @param groupCommit 그룹 커밋 설정
+ * @param cas         CAS 모드 설정
+ * @param actor       ACTOR 모드 설정
+ */
+@ConfigurationProperties(prefix = "point.write")
+public record PointWriteProperties(
+        @DefaultValue("LOCK") PointWriteMode mode,
+        @DefaultValue GroupCommit groupCommit,
+        @DefaultValue Cas cas,
+        @DefaultValue Actor actor
+) {
+
+    /**
+     * @param maxBatchSize 한 번의 저장으로 반영할 최대 요청 수
+     */
+    public record GroupCommit(
+            @DefaultValue("64") int maxBatchSize
+    ) {
+        public GroupCommit {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize는 1 이상이어야 합니다.");
+            }
+        }
+    }
+
+    /**
+     * @param flushThreads    메모리상의 잔고를 UserPointTable에 반영하는 스레드 수
+     * @param shutdownTimeout 종료 시 남은 잔고를 반영하며 기다릴 최대 시간 (지나면 반영하지 못한 유저 수를 남기고 종료)
+     * @param maxSize         메모리에 잔고를 보관할 최대 유저 수 (넘으면 반영이 끝난 유저부터 제거하고 다음 요청에서 다시 읽음)
+     */
+    public record Cas(
+            @DefaultValue("4") int flushThreads,
+            @DefaultValue("30s") Duration shutdownTimeout,
+            @DefaultValue("100000") int maxSize
+    ) {
+        public Cas {
+            if (flushThreads < 1 || maxSize < 1) {
+                throw new IllegalArgumentException("flushThreads와 maxSize는 1 이상이어야 합니다.");
+            }
+            if (shutdownTimeout.isNegative()) {
+                throw new IllegalArgumentException("shutdownTimeout은 0 이상이어야 합니다.");
+            }
+        }
+    }
+
+    /**
+     * @param mailboxes       유저를 나누어 맡을 단일 스레드 메일박스 수
+     * @param mailboxCapacity 메일박스 하나에 쌓일 수 있는 최대 작업 수 (초과 시 429 응답)
+     * @param shutdownTimeout 종료 시 메일박스에 남은 작업을 처리하며 기다릴 최대 시간 (지나면 남은 작업을 실패로 완료)
+     */
+    public record Actor(
+            @DefaultValue("16") int mailboxes,
+            @DefaultValue("10000") int mailboxCapacity,
+            @DefaultValue("30s") Duration shutdownTimeout
+    ) {
+        public Actor {
+            if (mailboxes < 1 || mailboxCapacity < 1) {
+                throw new IllegalArgumentException("mailboxes와 mailboxCapacity는 1 이상이어야 합니다.");
+            }
+            if (shutdownTimeout.isNegative()) {
+                throw new IllegalArgumentException("shutdownTimeout은 0 이상이어야 합니다.");
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 유저별로 마지막으로 저장된 UserPoint를 게시하는 읽기 전용 뷰 (point.read.published=true)
+ * <ul>
+ *     <li> 충전/사용이 잔고를 저장하면(UserPointCache.insertOrUpdate) 저장된 UserPoint로 교체합니다. (copy-on-write)
+ *     UserPoint는 불변 객체이므로 읽는 쪽은 락 없이 항상 온전한 잔고와 수정 시각을 함께 봅니다.</li>
+ *     <li> 같은 유저의 저장은 쓰기 방식(유저 락, 메일박스)에 의해 이미 순서대로 일어나므로, 게시 순서가 곧 저장 순서입니다.</li>
+ *     <li> 저장소에서 읽어 온 값은 아직 게시된 값이 없고, 읽기 시작한 뒤 같은 구간의 게시가 바뀌지 않았을 때만 게시합니다.
+ *     조회 도중 끝난 충전/사용의 결과가 철회된 뒤에 오래된 값을 다시 게시하지 않습니다.</li>
+ *     <li> 저장 결과를 알 수 없는 경우(저장 중 예외) 게시를 철회해 다음 조회가 저장소를 다시 읽도록 합니다.</li>
+ *     <li> 게시된 유저가 최대 수(point.read.published-max-size)를 넘으면 방금 게시한 유저가 아닌 유저 하나의 게시를 철회합니다.
+ *     읽기에 락을 쓰지 않으므로 접근 순서는 추적하지 않으며, 철회된 유저는 다음 조회에서 캐시나 저장소를 읽어 다시 게시됩니다.</li>
+ *     <li> UserPoint 캐시를 사용한다면 캐시의 LRU에서 제거된 유저도 함께 철회되어, 게시되는 유저는 캐시에 남은 유저를 따라갑니다.</li>
+ * </ul>
+ */
+@Component
+public class PublishedUserPoints {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final ConcurrentHashMap<Long, UserPoint> published = new ConcurrentHashMap<>();
+    // 유저 id 구간별로 게시/철회할 때마다 증가 (변경 전에 증가시켜 publishIfAbsent가 변경을 놓치지 않게 한다)
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public PublishedUserPoints(PointReadProperties readProperties) {
+        this.enabled = readProperties.published();
+        this.maxSize = readProperties.publishedMaxSize();
+    }
+
+    /**
+     * @param id 유저id
+     * @return 게시된 UserPoint, 없다면 null
+     */
+    public UserPoint get(long id) {
+        if (!enabled) {
+            return null;
+        }
+        UserPoint userPoint = published.get(id);
+        if (userPoint != null) {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 저장된 UserPoint를 게시합니다. 같은 유저에 대해서는 저장 순서대로 호출되어야 합니다.
+     */
+    public void publish(UserPoint userPoint) {
+        if (!enabled) {
+            return;
+        }
+        versions.incrementAndGet(stripe(userPoint.id()));
+        if (published.put(userPoint.id(), userPoint) == null) {
+            evictIfFull(userPoint.id());
+        }
+    }
+
+    /**
+     * 저장소를 읽기 전에 호출해 publishIfAbsent에 전달할 버전을 얻습니다.
+     *
+     * @param id 유저id
+     * @return 유저가 속한 구간의 현재 버전
+     */
+    public long version(long id) {
+        return versions.get(stripe(id));
+    }
+
+    /**
+     * 저장소에서 읽어 온 UserPoint를 게시된 값이 없고, 읽기 전에 얻은 버전 이후 같은 구간의 게시가 바뀌지 않았을 때만 게시합니다.
+     *
+     * @param userPoint       저장소에서 읽어 온 UserPoint
+     * @param expectedVersion 저장소를 읽기 전에 얻은 version(id)
+     */
+    public void publishIfAbsent(UserPoint userPoint, long expectedVersion) {
+        if (!enabled) {
+            return;
+        }
+        int stripe = stripe(userPoint.id());
+        boolean[] added = new boolean[1];
+        published.compute(userPoint.id(), (id, current) -> {
+            if (current != null || versions.get(stripe) != expectedVersion) {
+                return current;
+            }
+            added[0] = true;
+            return userPoint;
+        });
+        if (added[0]) {
+            evictIfFull(userPoint.id());
+        }
+    }
+
+    public void unpublish(long id) {
+        versions.incrementAndGet(stripe(id));
+        published.remove(id);
+    }
+
+    /**
+     * @return 게시된 UserPoint로 응답한 조회 수
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return 최대 수를 넘어 게시를 철회한 유저 수
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return 게시된 유저 수
+     */
+    public int size() {
+        return published.size();
+    }
+
+    private void evictIfFull(long publishedId) {
+        if (published.size() <= maxSize) {
+            return;
+        }
+        for (Long id : published.keySet()) {
+            if (id == publishedId) {
+                continue;
+            }
+            versions.incrementAndGet(stripe(id));
+            if (published.remove(id) != null) {
+                evictionCount.increment();
+                return;
+            }
+        }
+    }
+
+    private static int stripe(long id) {
+        int hash = Long.hashCode(id);
+        hash ^= (hash >>> 16);
+        return hash & (VERSION_STRIPES - 1);
+    }
+}
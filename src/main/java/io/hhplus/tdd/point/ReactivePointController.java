@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 논블로킹 포인트 API
+ * 응답을 Mono로 반환하므로 요청 스레드는 테이블 호출이나 같은 유저의 앞선 요청을 기다리는 동안 반납됩니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+
+    public ReactivePointController(ReactivePointService reactivePointService) {
+        this.reactivePointService = reactivePointService;
+    }
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable("id") long id
+    ) {
+        return reactivePointService.getPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public Mono<List<PointHistory>> history(
+            @PathVariable("id") long id
+    ) {
+        return reactivePointService.getUserPointHistory(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable("id") long id,
+            @RequestBody long amount
+    ) {
+        return reactivePointService.chargePoint(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable("id") long id,
+            @RequestBody long amount
+    ) {
+        return reactivePointService.usePoint(id, amount);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 논블로킹 포인트 API 설정 (point.reactive.*)
+ *
+ * @param threadCap     테이블 호출을 수행할 bounded elastic 스케줄러의 최대 스레드 수
+ * @param queuedTaskCap 스레드를 기다릴 수 있는 최대 작업 수 (초과 시 429 응답)
+ */
+@ConfigurationProperties(prefix = "point.reactive")
+public record ReactivePointProperties(
+        @DefaultValue("64") int threadCap,
+        @DefaultValue("100000") int queuedTaskCap
+) {
+    public ReactivePointProperties {
+        if (threadCap < 1 || queuedTaskCap < 1) {
+            throw new IllegalArgumentException("threadCap과 queuedTaskCap은 1 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * PointService의 논블로킹 버전
+ * <ul>
+ *     <li> 테이블 호출은 요청 스레드가 아닌 bounded elastic 스케줄러에서 수행하므로, 요청 스레드는 응답을 기다리는 동안 반납됩니다.</li>
+ *     <li> 같은 유저의 충전/사용은 구독된 순서대로 이전 작업이 끝난 뒤에 이어서 실행되며, 기다리는 동안 스레드를 점유하지 않습니다.</li>
+ *     <li> 실제 처리는 PointService에 위임하므로 동기 API와 동시에 호출되어도 유저 락으로 상호 배제됩니다.</li>
+ * </ul>
+ */
+@Service
+public class ReactivePointService {
+
+    private final PointService pointService;
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> tailMap = new ConcurrentHashMap<>();
+
+    public ReactivePointService(PointService pointService, ReactivePointProperties reactiveProperties) {
+        this.pointService = pointService;
+        this.scheduler = Schedulers.newBoundedElastic(reactiveProperties.threadCap(), reactiveProperties.queuedTaskCap(), "point-reactive");
+    }
+
+    public Mono<UserPoint> getPoint(long id) {
+        return Mono.fromSupplier(() -> pointService.getPoint(id)).subscribeOn(scheduler);
+    }
+
+    public Mono<List<PointHistory>> getUserPointHistory(long userId) {
+        return Mono.fromSupplier(() -> pointService.getUserPointHistory(userId)).subscribeOn(scheduler);
+    }
+
+    public Mono<UserPoint> chargePoint(long id, long amount) {
+        return serialize(id, () -> pointService.chargePoint(id, amount));
+    }
+
+    public Mono<UserPoint> usePoint(long id, long amount) {
+        return serialize(id, () -> pointService.usePoint(id, amount));
+    }
+
+    /**
+     * 유저별 마지막 작업 뒤에 새 작업을 이어 붙입니다.
+     * 구독을 취소해도 이미 이어 붙인 작업은 끝까지 실행되어 뒤따르는 작업의 순서가 깨지지 않습니다.
+     */
+    private Mono<UserPoint> serialize(long id, Supplier<UserPoint> operation) {
+        return Mono.defer(() -> {
+            CompletableFuture<UserPoint> current = new CompletableFuture<>();
+            CompletableFuture<UserPoint> previous = tailMap.put(id, current);
+            if (previous == null) {
+                run(id, current, operation);
+            } else {
+                previous.whenComplete((result, e) -> run(id, current, operation));
+            }
+            return Mono.fromFuture(current, true);
+        });
+    }
+
+    private void run(long id, CompletableFuture<UserPoint> current, Supplier<UserPoint> operation) {
+        try {
+            scheduler.schedule(() -> {
+                try {
+                    current.complete(operation.get());
+                } catch (Throwable e) {
+                    current.completeExceptionally(e);
+                } finally {
+                    tailMap.remove(id, current);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            current.completeExceptionally(new PointBusyException(ErrorMessage.LOCK_QUEUE_FULL));
+            tailMap.remove(id, current);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,320 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PointService와 잔고 저장소(PointRepository) 사이에 위치하는 write-through UserPoint 캐시
+ * <ul>
+ *     <li> 저장(insertOrUpdate)이 성공하면 저장된 UserPoint로 캐시를 갱신합니다.</li>
+ *     <li> 유저 id를 기준으로 세그먼트를 나누고, 세그먼트별 LRU 방식으로 최대 크기를 넘는 항목을 제거합니다.</li>
+ *     <li> ttl이 설정되면 만료된 항목은 조회 시 miss로 처리하며, 게시된 UserPoint도 캐시 항목이 만료되었다면 게시를 철회하고 miss로 처리합니다.</li>
+ *     <li> 저장소가 캐시가 필요 없는 메모리 저장소라면(PointRepository.cacheable() = false) 캐시를 거치지 않습니다.</li>
+ *     <li> 저장하거나 저장소에서 읽어 온 UserPoint는 캐시 사용 여부와 무관하게 PublishedUserPoints에 게시합니다.
+ *     (메모리 저장소는 이미 락 없이 읽으므로 게시하지 않습니다)</li>
+ *     <li> LRU에서 제거한 유저는 게시도 철회하므로, 캐시를 사용할 때 게시되는 유저 수는 캐시 크기를 따라갑니다.</li>
+ * </ul>
+ */
+@Component
+public class UserPointCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final PointRepository pointRepository;
+    private final PublishedUserPoints publishedUserPoints;
+    private final boolean publishing;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(PointRepository pointRepository, UserPointCacheProperties cacheProperties,
+                          PublishedUserPoints publishedUserPoints) {
+        this.pointRepository = pointRepository;
+        this.publishedUserPoints = publishedUserPoints;
+        this.publishing = pointRepository.cacheable();
+        this.enabled = cacheProperties.enabled() && pointRepository.cacheable();
+        this.ttlNanos = cacheProperties.ttl().toNanos();
+
+        int segmentMaxSize = Math.max(1, (cacheProperties.maxSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    /**
+     * 캐시된 UserPoint를 반환하며, 없다면 저장소에서 조회해 캐시에 적재합니다.
+     *
+     * @param id 유저id
+     * @return UserPoint
+     */
+    public UserPoint selectById(long id) {
+        if (!enabled) {
+            return load(id);
+        }
+
+        Segment segment = segmentFor(id);
+        UserPoint cached = segment.get(id);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+
+        missCount.increment();
+        long version = segment.version();
+        UserPoint loaded = load(id);
+        segment.putIfUnchanged(id, loaded, version);
+        return loaded;
+    }
+
+    /**
+     * 저장소에 저장한 뒤 저장된 UserPoint로 캐시를 갱신합니다.
+     *
+     * @param id    유저id
+     * @param point 저장할 포인트
+     * @return 저장된 UserPoint
+     */
+    public UserPoint insertOrUpdate(long id, long point) {
+        if (!enabled) {
+            return store(id, point);
+        }
+
+        Segment segment = segmentFor(id);
+        try {
+            UserPoint saved = store(id, point);
+            segment.put(id, saved);
+            return saved;
+        } catch (RuntimeException e) {
+            // 저장 결과를 알 수 없으므로 다음 조회에서 다시 읽도록 한다
+            segment.invalidate(id);
+            throw e;
+        }
+    }
+
+    /**
+     * 복구한 잔고를 저장소에 저장 지연 없이 적재합니다. (애플리케이션 시작 시 사용)
+     * 복구 전의 값이 남지 않도록 해당 유저의 캐시와 게시된 UserPoint를 비웁니다.
+     *
+     * @param userPoints 적재할 UserPoint 목록
+     */
+    public void restore(Collection<UserPoint> userPoints) {
+        pointRepository.restore(userPoints);
+        for (UserPoint userPoint : userPoints) {
+            invalidate(userPoint.id());
+            if (publishing) {
+                publishedUserPoints.unpublish(userPoint.id());
+            }
+        }
+    }
+
+    /**
+     * 저장소를 조회하지 않고 얻을 수 있는 UserPoint를 반환합니다.
+     * 게시된 UserPoint가 있다면 락 없이 바로 반환하고, 캐시에 있다면 적중으로 기록해 반환하며,
+     * 저장소가 메모리 저장소라면(cacheable() = false) 바로 조회해 반환합니다.
+     *
+     * @param id 유저id
+     * @return UserPoint, 캐시되지 않아 저장소를 조회해야 한다면 null
+     */
+    public UserPoint selectIfCheap(long id) {
+        UserPoint published = getPublished(id);
+        if (published != null) {
+            return published;
+        }
+        if (!pointRepository.cacheable()) {
+            return load(id);
+        }
+        if (!enabled) {
+            return null;
+        }
+        UserPoint cached = segmentFor(id).get(id);
+        if (cached != null) {
+            hitCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * @param id 유저id
+     * @return 게시되었거나 캐시에 적재된 UserPoint (없거나 만료되었다면 null), 캐시 통계에는 반영하지 않음
+     */
+    public UserPoint getIfPresent(long id) {
+        UserPoint published = getPublished(id);
+        if (published != null) {
+            return published;
+        }
+        return enabled ? segmentFor(id).get(id) : null;
+    }
+
+    /**
+     * ttl이 설정되었다면 캐시 항목이 만료되었거나 없는 유저의 게시를 철회해, selectById와 같은 만료 기준을 따르게 합니다.
+     * ttl이 없다면 세그먼트 락을 잡지 않고 게시된 UserPoint를 그대로 반환합니다.
+     */
+    private UserPoint getPublished(long id) {
+        if (enabled && ttlNanos > 0 && segmentFor(id).get(id) == null) {
+            publishedUserPoints.unpublish(id);
+            return null;
+        }
+        return publishedUserPoints.get(id);
+    }
+
+    public void invalidate(long id) {
+        segmentFor(id).invalidate(id);
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private UserPoint load(long id) {
+        if (!publishing) {
+            return pointRepository.selectById(id);
+        }
+        long version = publishedUserPoints.version(id);
+        UserPoint loaded = pointRepository.selectById(id);
+        publishedUserPoints.publishIfAbsent(loaded, version);
+        return loaded;
+    }
+
+    private UserPoint store(long id, long point) {
+        if (!publishing) {
+            return pointRepository.insertOrUpdate(id, point);
+        }
+        try {
+            UserPoint saved = pointRepository.insertOrUpdate(id, point);
+            publishedUserPoints.publish(saved);
+            return saved;
+        } catch (RuntimeException e) {
+            publishedUserPoints.unpublish(id);
+            throw e;
+        }
+    }
+
+    private Segment segmentFor(long id) {
+        int hash = Long.hashCode(id);
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * 캐시 통계
+     *
+     * @param hitCount      캐시 적중 횟수
+     * @param missCount     캐시 미적중 횟수
+     * @param evictionCount 크기 제한으로 제거된 항목 수
+     * @param size          현재 캐시된 항목 수
+     */
+    public record CacheStats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long size
+    ) {
+    }
+
+    private record Entry(UserPoint userPoint, long expireAtNanos) {
+    }
+
+    /**
+     * 접근 순서를 유지하는 LinkedHashMap 기반 LRU 세그먼트
+     * 조회 중 같은 세그먼트에 저장이 일어났다면 조회 결과를 적재하지 않아 오래된 값이 캐시되는 것을 막습니다.
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Entry> map;
+        private long version;
+
+        private Segment(int maxSize) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > maxSize) {
+                        evictionCount.increment();
+                        if (publishing) {
+                            publishedUserPoints.unpublish(eldest.getKey());
+                        }
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private UserPoint get(long id) {
+            lock.lock();
+            try {
+                Entry entry = map.get(id);
+                if (entry == null) {
+                    return null;
+                }
+                if (ttlNanos > 0 && System.nanoTime() - entry.expireAtNanos() > 0) {
+                    map.remove(id);
+                    return null;
+                }
+                return entry.userPoint();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long version() {
+            lock.lock();
+            try {
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(long id, UserPoint userPoint) {
+            lock.lock();
+            try {
+                version++;
+                map.put(id, new Entry(userPoint, System.nanoTime() + ttlNanos));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void putIfUnchanged(long id, UserPoint userPoint, long expectedVersion) {
+            lock.lock();
+            try {
+                if (version == expectedVersion && !map.containsKey(id)) {
+                    map.put(id, new Entry(userPoint, System.nanoTime() + ttlNanos));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidate(long id) {
+            lock.lock();
+            try {
+                version++;
+                map.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
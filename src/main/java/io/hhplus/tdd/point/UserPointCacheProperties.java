@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * UserPoint 캐시 설정 (point.cache.*)
+ *
+ * @param enabled 캐시 사용 여부 (false면 항상 UserPointTable을 조회)
+ * @param maxSize 캐시에 보관할 최대 유저 수
+ * @param ttl     캐시 유지 시간 (0이면 만료 없음)
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record UserPointCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("0s") Duration ttl
+) {
+    public UserPointCacheProperties {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize는 1 이상이어야 합니다.");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UserPointTable을 사용하는 잔고 저장소 (point.storage.balance=table)
+ * 테이블 호출 시간을 point.table.latency 지표로 기록합니다.
+ * 복구한 잔고는 테이블을 거치지 않고 메모리에 적재해 두었다가, 해당 유저가 처음 저장될 때 테이블의 값으로 대체합니다.
+ */
+public class UserPointTableRepository implements PointRepository {
+
+    private final UserPointTable userPointTable;
+    private final PointMetrics pointMetrics;
+    private final ConcurrentHashMap<Long, UserPoint> restored = new ConcurrentHashMap<>();
+
+    public UserPointTableRepository(UserPointTable userPointTable, PointMetrics pointMetrics) {
+        this.userPointTable = userPointTable;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        if (!restored.isEmpty()) {
+            UserPoint userPoint = restored.get(id);
+            if (userPoint != null) {
+                return userPoint;
+            }
+        }
+        return pointMetrics.recordUserPointSelect(() -> userPointTable.selectById(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long point) {
+        UserPoint saved = pointMetrics.recordUserPointUpsert(() -> userPointTable.insertOrUpdate(id, point));
+        restored.remove(id);
+        return saved;
+    }
+
+    @Override
+    public void restore(Collection<UserPoint> userPoints) {
+        userPoints.forEach(userPoint -> restored.put(userPoint.id(), userPoint));
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 블로킹 포인트 API의 동시 요청 처리 시간을 측정하는 수동 벤치마크 (./gradlew loadTest)
+ * Tomcat 요청 스레드를 적게 제한한 상태에서 플랫폼 스레드와 가상 스레드 모드의 처리 시간을 각각 로그로 남깁니다.
+ * <ul>
+ *     <li> 두 모드는 서로 다른 애플리케이션 컨텍스트에서 실행되고 테이블 지연이 무작위라 처리 시간은 비교 검증하지 않습니다.
+ *     모드 간 차이는 로그의 처리 시간으로 직접 비교합니다.</li>
+ *     <li> 검증하는 것은 제한된 요청 스레드로도 모든 요청이 성공하는지 뿐입니다.</li>
+ *     <li> load 태그로 분리되어 ./gradlew test 에서는 실행되지 않습니다.</li>
+ * </ul>
+ */
+@Tag("load")
+abstract class PointApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointApiLoadTest.class);
+
+    static final int TOMCAT_MAX_THREADS = 20;
+    static final int CONCURRENT_REQUESTS = 400;
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void 동시_조회_요청을_모두_처리하고_처리_시간을_기록한다() {
+        // given
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+
+        // when
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + i)).GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        log.info("[benchmark][{}] 동시 요청 {}건 처리 시간: {}ms ({} req/s)", mode(), CONCURRENT_REQUESTS, elapsedMillis,
+                CONCURRENT_REQUESTS * 1000L / Math.max(1, elapsedMillis));
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+    }
+
+    abstract String mode();
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "spring.threads.virtual.enabled=false"
+    })
+    static class PlatformThread extends PointApiLoadTest {
+        @Override
+        String mode() {
+            return "platform";
+        }
+    }
+
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "spring.threads.virtual.enabled=true"
+    })
+    static class VirtualThread extends PointApiLoadTest {
+        @Override
+        String mode() {
+            return "virtual";
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CasBalanceEngineTest {
+
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
+    UserPointTable userPointTable;
+    PointHistoryTable pointHistoryTable;
+    PointHistoryAppender pointHistoryAppender;
+    CasBalanceEngine casBalanceEngine;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        pointHistoryAppender = new PointHistoryAppender(new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics)), pointCommitLog, new PointHistoryAppendProperties(true, 1000, 2, Duration.ofSeconds(30)), new PointThreadFactory(false));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.CAS, new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(2, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        casBalanceEngine = new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, new PointThreadFactory(false));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        casBalanceEngine.shutdown();
+        pointHistoryAppender.shutdown();
+    }
+
+    @Test
+    void 검증에_실패하면_잔고가_바뀌지_않는다() {
+        // given
+        long userId = 1L;
+        casBalanceEngine.charge(userId, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> casBalanceEngine.use(userId, 101L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(ErrorMessage.INSUFFICIENT_POINTS);
+        assertThat(casBalanceEngine.get(userId).point()).isEqualTo(100L);
+    }
+
+    @Test
+    void 동일_유저에_대한_동시_충전과_사용이_모두_반영되고_테이블에_최종_잔고가_저장된다() throws InterruptedException {
+        // given
+        long userId = 2L;
+        int threadCount = 10;
+        int operationsPerThread = 3; // 같은 유저의 내역은 한 스레드가 기록하므로 테이블 지연을 고려해 작게 유지
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        casBalanceEngine.charge(userId, 10L);
+                        casBalanceEngine.use(userId, 5L);
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        casBalanceEngine.shutdown();
+        pointHistoryAppender.flush(Duration.ofSeconds(60));
+
+        // then
+        long expected = 5L * threadCount * operationsPerThread;
+        assertAll(
+                () -> assertThat(errors).isEmpty(),
+                () -> assertThat(casBalanceEngine.get(userId).point()).isEqualTo(expected),
+                () -> assertThat(casBalanceEngine.dirtyCount()).isZero(),
+                () -> assertThat(userPointTable.selectById(userId).point()).isEqualTo(expected),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(threadCount * operationsPerThread * 2)
+        );
+    }
+
+    @Test
+    void 같은_유저의_내역은_잔고가_바뀐_순서대로_기록된다() throws InterruptedException {
+        // given: 충전만 하므로 충전 결과 잔고의 오름차순이 compare-and-set에 성공한 순서다
+        long userId = 3L;
+        int threadCount = 4;
+        int operationsPerThread = 5;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ConcurrentLinkedQueue<long[]> charged = new ConcurrentLinkedQueue<>(); // [충전 포인트, 충전 후 잔고]
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long base = t * operationsPerThread;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 1; i <= operationsPerThread; i++) {
+                        long amount = base + i;
+                        charged.add(new long[]{amount, casBalanceEngine.charge(userId, amount).point()});
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        pointHistoryAppender.flush(Duration.ofSeconds(60));
+
+        // then
+        List<Long> amountsInBalanceOrder = charged.stream()
+                .sorted(Comparator.comparingLong(result -> result[1]))
+                .map(result -> result[0])
+                .toList();
+        assertThat(pointHistoryTable.selectAllByUserId(userId))
+                .extracting(PointHistory::amount)
+                .containsExactlyElementsOf(amountsInBalanceOrder);
+    }
+
+    @Test
+    void 반영이_계속_실패하면_점점_늦게_다시_시도하고_종료_시간이_지나면_포기한다() throws InterruptedException {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        PointRepository failingRepository = new PointRepository() {
+            @Override
+            public UserPoint selectById(long id) {
+                return UserPoint.empty(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long point) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("저장 실패");
+            }
+
+            @Override
+            public void restore(Collection<UserPoint> userPoints) {
+            }
+        };
+        UserPointCache userPointCache = new UserPointCache(failingRepository, new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.CAS, new PointWriteProperties.GroupCommit(64),
+                new PointWriteProperties.Cas(1, Duration.ofMillis(300), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        CasBalanceEngine failingEngine = new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, new PointThreadFactory(false));
+        failingEngine.charge(1L, 100L);
+
+        // when
+        long startedAt = System.nanoTime();
+        failingEngine.shutdown();
+        long shutdownMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then: 대기 없이 다시 시도했다면 300ms 동안 수천 번 시도한다
+        assertAll(
+                () -> assertThat(shutdownMillis).isLessThan(5_000L),
+                () -> assertThat(attempts.get()).isBetween(1, 20),
+                () -> assertThat(failingEngine.dirtyCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void 내역_기록이_멈춰도_같은_유저의_다음_충전은_기다리지_않고_내역은_순서대로_기록된다() throws Exception {
+        // given: 첫 충전의 내역 기록이 풀어줄 때까지 멈춘다
+        long userId = 4L;
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> appended = new CopyOnWriteArrayList<>();
+        PointHistoryAppender hangingAppender = new PointHistoryAppender(new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics)), pointCommitLog,
+                new PointHistoryAppendProperties(false, 1000, 2, Duration.ofSeconds(30)), new PointThreadFactory(false)) {
+            @Override
+            public void append(long userId, long amount, TransactionType type, long updateMillis) {
+                if (amount == 1L) {
+                    blocked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                appended.add(amount);
+            }
+        };
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.CAS, new PointWriteProperties.GroupCommit(64),
+                new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        CasBalanceEngine hangingEngine = new CasBalanceEngine(userPointCache, hangingAppender, writeProperties, new PointThreadFactory(false));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> first = executorService.submit(() -> hangingEngine.charge(userId, 1L));
+        blocked.await();
+
+        // when
+        long startedAt = System.nanoTime();
+        UserPoint second = hangingEngine.charge(userId, 2L);
+        UserPoint third = hangingEngine.charge(userId, 3L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        List<Long> appendedWhileBlocked = List.copyOf(appended);
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        hangingEngine.shutdown();
+
+        // then: 멈춘 기록을 맡은 스레드가 넘겨받은 내역까지 version 순서대로 기록한다
+        assertAll(
+                () -> assertThat(elapsedMillis).isLessThan(5_000L),
+                () -> assertThat(second.point()).isEqualTo(3L),
+                () -> assertThat(third.point()).isEqualTo(6L),
+                () -> assertThat(appendedWhileBlocked).isEmpty(),
+                () -> assertThat(appended).containsExactly(1L, 2L, 3L)
+        );
+    }
+
+    @Test
+    void 최대_크기를_넘으면_반영이_끝난_유저를_제거하고_다음_조회에서_다시_읽는다() throws InterruptedException {
+        // given: 세그먼트마다 한 명만 보관한다
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.CAS, new PointWriteProperties.GroupCommit(64),
+                new PointWriteProperties.Cas(2, Duration.ofSeconds(30), 1), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        CasBalanceEngine boundedEngine = new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, new PointThreadFactory(false));
+        int userCount = 12;
+        for (long userId = 1; userId <= userCount; userId++) {
+            boundedEngine.charge(userId, 100L);
+        }
+        boundedEngine.shutdown(); // 남은 잔고를 모두 반영한다
+
+        // when
+        for (long userId = userCount + 1; userId <= userCount * 2; userId++) {
+            boundedEngine.get(userId);
+        }
+
+        // then
+        assertAll(
+                () -> assertThat(boundedEngine.balanceCount()).isLessThanOrEqualTo(16),
+                () -> {
+                    for (long userId = 1; userId <= userCount; userId++) {
+                        assertThat(boundedEngine.get(userId).point()).isEqualTo(100L);
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ColumnarPointHistoryStoreTest {
+
+    ColumnarPointHistoryStore store = new ColumnarPointHistoryStore();
+
+    @Test
+    void 저장한_내역을_유저별로_id_오름차순으로_조회한다() {
+        // given
+        store.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        store.insert(2L, 200L, TransactionType.CHARGE, 20L);
+        store.insert(1L, 50L, TransactionType.USE, 30L);
+
+        // when
+        List<PointHistory> histories = store.selectAllByUserId(1L);
+
+        // then
+        assertAll(
+                () -> assertThat(histories).containsExactly(
+                        new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L),
+                        new PointHistory(3L, 1L, 50L, TransactionType.USE, 30L)),
+                () -> assertThat(store.selectAllByUserId(3L)).isEmpty(),
+                () -> assertThat(store.size()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    void id가_부여된_내역을_옮겨오면_이후_id는_그_다음부터_부여된다() {
+        // given
+        store.append(new PointHistory(10L, 1L, 100L, TransactionType.CHARGE, 10L));
+
+        // when
+        long id = store.insert(1L, 1L, TransactionType.CHARGE, 20L).id();
+
+        // then
+        assertAll(
+                () -> assertThat(id).isEqualTo(11L),
+                () -> assertThatThrownBy(() -> store.append(new PointHistory(5L, 1L, 1L, TransactionType.CHARGE, 0L)))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    @Test
+    void 유저_인덱스로_커서_페이지와_종류별_집계를_조회한다() {
+        // given
+        store.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        store.insert(2L, 999L, TransactionType.CHARGE, 15L);
+        store.insert(1L, 200L, TransactionType.USE, 20L);
+        store.insert(1L, 300L, TransactionType.CHARGE, 30L);
+        store.insert(1L, 400L, TransactionType.CHARGE, 40L);
+
+        // when
+        PointHistoryPage first = store.findPage(1L, PointHistoryQuery.first(2));
+        PointHistoryPage second = store.findPage(1L, new PointHistoryQuery(first.nextCursor(), 2, null, null, null));
+        PointHistoryPage charges = store.findPage(1L, new PointHistoryQuery(null, 10, 15L, 35L, TransactionType.CHARGE));
+        PointHistorySummary summary = store.summarize(1L);
+
+        // then
+        assertAll(
+                () -> assertThat(first.content()).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                () -> assertThat(second.content()).extracting(PointHistory::amount).containsExactly(300L, 400L),
+                () -> assertThat(second.hasNext()).isFalse(),
+                () -> assertThat(charges.content()).extracting(PointHistory::amount).containsExactly(300L),
+                () -> assertThat(summary).isEqualTo(PointHistorySummary.of(1L, store.selectAllByUserId(1L))),
+                () -> assertThat(summary.charge().count()).isEqualTo(3),
+                () -> assertThat(store.summarize(3L)).isEqualTo(PointHistorySummary.empty(3L)),
+                () -> assertThat(store.findPage(3L, PointHistoryQuery.first(10)).content()).isEmpty()
+        );
+    }
+
+    @Test
+    void 청크_경계를_넘어도_내역이_유지되고_객체_표현보다_행당_크기가_작다() {
+        // given
+        int rows = 4 * 65_536; // 청크 4개
+
+        // when
+        for (int i = 0; i < rows; i++) {
+            store.insert(i % 100, 1L, TransactionType.CHARGE, i);
+        }
+
+        // then
+        List<PointHistory> histories = store.selectAllByUserId(7L);
+        assertAll(
+                () -> assertThat(histories).hasSize(2622),
+                () -> assertThat(histories.get(histories.size() - 1).id()).isEqualTo(262_108L),
+                () -> assertThat(store.bytesPerRow()).isLessThan(48) // PointHistory 객체(40) + 테이블/인덱스 참조(8)
+        );
+    }
+
+    @Test
+    void 쓰는_중에_조회해도_저장이_끝난_내역만_보인다() throws InterruptedException {
+        // given
+        int writers = 4;
+        int rowsPerWriter = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch latch = new CountDownLatch(writers);
+        List<Integer> observed = new ArrayList<>();
+
+        // when
+        for (int w = 0; w < writers; w++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < rowsPerWriter; i++) {
+                    store.insert(1L, 1L, TransactionType.CHARGE, i);
+                }
+                latch.countDown();
+            });
+        }
+        executorService.submit(() -> {
+            while (latch.getCount() > 0) {
+                List<PointHistory> histories = store.selectAllByUserId(1L);
+                for (int i = 0; i < histories.size(); i++) {
+                    if (histories.get(i).id() != i + 1) {
+                        observed.add(i);
+                    }
+                }
+            }
+        });
+        latch.await();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertAll(
+                () -> assertThat(observed).isEmpty(),
+                () -> assertThat(store.selectAllByUserId(1L)).hasSize(writers * rowsPerWriter)
+        );
+    }
+}
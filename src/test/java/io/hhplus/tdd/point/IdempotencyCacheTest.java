@@ -0,0 +1,214 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void 같은_키로_다시_요청하면_처리하지_않고_처음_결과를_반환한다() {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        UserPoint first = idempotencyCache.execute("key", 1L, TransactionType.CHARGE, 100L,
+                () -> new UserPoint(1L, calls.incrementAndGet() * 100L, 1L));
+        UserPoint second = idempotencyCache.execute("key", 1L, TransactionType.CHARGE, 100L,
+                () -> new UserPoint(1L, calls.incrementAndGet() * 100L, 2L));
+        UserPoint otherUser = idempotencyCache.execute("key", 2L, TransactionType.CHARGE, 100L,
+                () -> new UserPoint(2L, calls.incrementAndGet() * 100L, 3L));
+
+        // then
+        assertAll(
+                () -> assertThat(second).isEqualTo(first),
+                () -> assertThat(otherUser.id()).isEqualTo(2L),
+                () -> assertThat(calls.get()).isEqualTo(2),
+                () -> assertThat(idempotencyCache.stats().hitCount()).isEqualTo(1),
+                () -> assertThat(idempotencyCache.stats().missCount()).isEqualTo(2),
+                () -> assertThat(idempotencyCache.stats().size()).isEqualTo(2),
+                () -> assertThat(idempotencyCache.stats().estimatedBytes()).isPositive()
+        );
+    }
+
+    @Test
+    void 처음_요청이_처리_중이면_그_결과를_기다려_반환한다() throws Exception {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> original = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key", 1L, TransactionType.USE, 100L, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 900L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key", 1L, TransactionType.USE, 100L, () -> {
+                    calls.incrementAndGet();
+                    return new UserPoint(1L, 800L, 2L);
+                }));
+        Thread.sleep(50);
+        boolean duplicateDoneBeforeOriginal = duplicate.isDone();
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertThat(duplicateDoneBeforeOriginal).isFalse(),
+                () -> assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(original.get(5, TimeUnit.SECONDS)),
+                () -> assertThat(calls.get()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void 같은_키를_다른_구분이나_포인트로_사용하거나_키가_올바르지_않으면_InvalidPointRequestException이_발생한다() {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+        idempotencyCache.execute("key", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 1L));
+
+        // when & then
+        assertAll(
+                () -> assertThatThrownBy(() -> idempotencyCache.execute("key", 1L, TransactionType.CHARGE, 200L, () -> new UserPoint(1L, 300L, 2L)))
+                        .isInstanceOf(InvalidPointRequestException.class)
+                        .hasMessage(ErrorMessage.IDEMPOTENCY_KEY_REUSED),
+                () -> assertThatThrownBy(() -> idempotencyCache.execute("key", 1L, TransactionType.USE, 100L, () -> new UserPoint(1L, 0L, 2L)))
+                        .isInstanceOf(InvalidPointRequestException.class)
+                        .hasMessage(ErrorMessage.IDEMPOTENCY_KEY_REUSED),
+                () -> assertThatThrownBy(() -> idempotencyCache.execute("", 1L, TransactionType.USE, 100L, () -> new UserPoint(1L, 0L, 2L)))
+                        .isInstanceOf(InvalidPointRequestException.class)
+                        .hasMessage(ErrorMessage.INVALID_IDEMPOTENCY_KEY)
+        );
+    }
+
+    @Test
+    void 실패한_요청은_실패를_그대로_반환하고_PointBusyException은_다시_시도할_수_있다() {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> idempotencyCache.execute("fail", 1L, TransactionType.USE, 100L, () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException(ErrorMessage.INSUFFICIENT_POINTS);
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> idempotencyCache.execute("busy", 1L, TransactionType.USE, 100L, () -> {
+            calls.incrementAndGet();
+            throw new PointBusyException(ErrorMessage.LOCK_WAIT_TIMEOUT);
+        })).isInstanceOf(PointBusyException.class);
+
+        // when
+        UserPoint retried = idempotencyCache.execute("busy", 1L, TransactionType.USE, 100L, () -> {
+            calls.incrementAndGet();
+            return new UserPoint(1L, 0L, 1L);
+        });
+
+        // then
+        assertAll(
+                () -> assertThatThrownBy(() -> idempotencyCache.execute("fail", 1L, TransactionType.USE, 100L, () -> new UserPoint(1L, 0L, 1L)))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage(ErrorMessage.INSUFFICIENT_POINTS),
+                () -> assertThat(retried.point()).isEqualTo(0L),
+                () -> assertThat(calls.get()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    void ttl이_지나거나_최대_크기를_넘은_키는_제거된다() throws InterruptedException {
+        // given
+        IdempotencyCache expiring = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMillis(1)));
+        IdempotencyCache bounded = new IdempotencyCache(new IdempotencyProperties(16, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+        expiring.execute("key", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, calls.incrementAndGet(), 1L));
+        Thread.sleep(10);
+
+        // when
+        expiring.execute("key", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, calls.incrementAndGet(), 2L));
+        for (long userId = 1; userId <= 100; userId++) {
+            bounded.execute("key", userId, TransactionType.CHARGE, 100L, () -> UserPoint.empty(1L));
+        }
+
+        // then
+        assertAll(
+                () -> assertThat(calls.get()).isEqualTo(2),
+                () -> assertThat(expiring.stats().expiredEvictionCount()).isEqualTo(1),
+                () -> assertThat(expiring.stats().size()).isEqualTo(1),
+                () -> assertThat(bounded.stats().size()).isLessThanOrEqualTo(16),
+                () -> assertThat(bounded.stats().sizeEvictionCount() + bounded.stats().size()).isEqualTo(100)
+        );
+    }
+
+    @Test
+    void 최대_크기를_넘어도_처리_중인_항목은_제거하지_않아_중복_요청이_결과를_기다린다() throws Exception {
+        // given: 세그먼트당 1개만 보관
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(1, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> original = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key", 0L, TransactionType.CHARGE, 100L, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(0L, 100L, 1L);
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when: 처리가 끝난 다른 키로 모든 세그먼트를 넘치게 채운다
+        for (long userId = 1; userId <= 200; userId++) {
+            idempotencyCache.execute("key", userId, TransactionType.CHARGE, 100L, () -> UserPoint.empty(1L));
+        }
+        CompletableFuture<UserPoint> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key", 0L, TransactionType.CHARGE, 100L, () -> {
+                    calls.incrementAndGet();
+                    return new UserPoint(0L, 200L, 2L);
+                }));
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(original.get(5, TimeUnit.SECONDS)),
+                () -> assertThat(calls.get()).isEqualTo(1),
+                () -> assertThat(idempotencyCache.stats().sizeEvictionCount()).isPositive()
+        );
+    }
+
+    @Test
+    void 처리_중_Error가_발생해도_항목이_완료되어_같은_키의_요청은_같은_Error를_받는다() {
+        // given
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> idempotencyCache.execute("error", 1L, TransactionType.CHARGE, 100L, () -> {
+            calls.incrementAndGet();
+            throw new StackOverflowError("처리 실패");
+        })).isInstanceOf(StackOverflowError.class);
+
+        // when & then
+        assertThatThrownBy(() -> CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("error", 1L, TransactionType.CHARGE, 100L, () -> {
+                    calls.incrementAndGet();
+                    return new UserPoint(1L, 100L, 1L);
+                })).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package io.hhplus.tdd.point;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 @SpringBootTest
 public class LockManagerTest {
 
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
     @Autowired
     LockManager lockManager;
 
@@ -50,4 +62,129 @@ public class LockManagerTest {
             assertThat(firstLock).isSameAs(futures[i].get());
         }
     }
+
+    @Nested
+    class 스트라이프_락 {
+
+        LockManager stripedLockManager = new LockManager(new LockProperties(LockProperties.Mode.STRIPED, 4, Duration.ZERO, 0), pointMetrics);
+
+        @Test
+        void 유저_수와_무관하게_락_개수가_고정된다() {
+            for (long userId = 1; userId <= 10_000; userId++) {
+                stripedLockManager.getLock(userId);
+            }
+
+            assertThat(stripedLockManager.lockCount()).isEqualTo(4);
+        }
+
+        @Test
+        void 동일한_id에_대해_동일한_Lock객체가_반환된다() {
+            assertThat(stripedLockManager.getLock(1L)).isSameAs(stripedLockManager.getLock(1L));
+        }
+
+        @Test
+        void 락을_공유하는_여러_유저가_동시에_갱신해도_유저별_상호배제가_유지된다() throws InterruptedException {
+            // given
+            int userCount = 32; // 락 4개를 32명이 공유
+            int incrementsPerUser = 200;
+            int threadCount = 16;
+            long[] counters = new long[userCount]; // 락 없이는 갱신이 유실되는 일반 배열
+
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(threadCount);
+
+            // when
+            for (int t = 0; t < threadCount; t++) {
+                executorService.submit(() -> {
+                    try {
+                        for (int i = 0; i < incrementsPerUser; i++) {
+                            for (int userId = 0; userId < userCount; userId++) {
+                                Lock lock = stripedLockManager.getLock((long) userId);
+                                lock.lock();
+                                try {
+                                    counters[userId]++;
+                                } finally {
+                                    lock.unlock();
+                                }
+                            }
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+            executorService.shutdown();
+
+            // then
+            List<LockManager.StripeStats> stats = stripedLockManager.topContendedStripes(4);
+            long acquisitions = stats.stream().mapToLong(LockManager.StripeStats::acquisitions).sum();
+            assertAll(
+                    () -> assertThat(counters).containsOnly((long) incrementsPerUser * threadCount),
+                    () -> assertThat(acquisitions).isEqualTo((long) userCount * incrementsPerUser * threadCount),
+                    () -> assertThat(stats).isSortedAccordingTo((a, b) -> Long.compare(b.contentions(), a.contentions()))
+            );
+        }
+    }
+
+    @Nested
+    class 락_획득_제한 {
+
+        @Test
+        void 제한_시간_안에_락을_얻지_못하면_PointBusyException이_발생한다() throws Exception {
+            // given
+            LockManager timedLockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ofMillis(50), 0), pointMetrics);
+            Lock holding = CompletableFuture.supplyAsync(() -> timedLockManager.acquire(1L)).get(); // 다른 스레드가 락을 잡고 놓지 않는다
+
+            // when & then
+            assertAll(
+                    () -> assertThatThrownBy(() -> timedLockManager.acquire(1L))
+                            .isInstanceOf(PointBusyException.class)
+                            .hasMessage(ErrorMessage.LOCK_WAIT_TIMEOUT),
+                    () -> assertThat(timedLockManager.getLock(1L)).isSameAs(holding),
+                    () -> assertThat(timedLockManager.acquire(2L)).isNotNull() // 다른 유저는 영향을 받지 않는다
+            );
+        }
+
+        @Test
+        void 락을_기다리는_중_인터럽트되면_타임아웃으로_세지_않고_인터럽트_상태를_유지한_채_IllegalStateException이_발생한다() throws Exception {
+            // given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            LockManager timedLockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ofSeconds(10), 0),
+                    new PointMetrics(meterRegistry));
+            CompletableFuture.supplyAsync(() -> timedLockManager.acquire(1L)).get(); // 다른 스레드가 락을 잡고 놓지 않는다
+
+            // when
+            Thread.currentThread().interrupt();
+            Throwable thrown = catchThrowable(() -> timedLockManager.acquire(1L));
+            boolean interrupted = Thread.interrupted();
+
+            // then
+            assertAll(
+                    () -> assertThat(thrown).isInstanceOf(IllegalStateException.class)
+                            .hasCauseInstanceOf(InterruptedException.class),
+                    () -> assertThat(interrupted).isTrue(),
+                    () -> assertThat(meterRegistry.get("point.lock.rejected").tag("reason", "timeout").counter().count()).isZero()
+            );
+        }
+
+        @Test
+        void 대기_요청_수가_한도를_넘으면_기다리지_않고_PointBusyException이_발생한다() throws Exception {
+            // given
+            LockManager boundedLockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ofSeconds(10), 1), pointMetrics);
+            Lock lock = boundedLockManager.acquire(1L);
+            CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> boundedLockManager.acquire(1L).unlock());
+            Thread.sleep(100); // 첫 번째 대기 요청이 대기열에 들어갈 때까지 기다린다
+
+            // when & then
+            long startedAt = System.nanoTime();
+            assertThatThrownBy(() -> boundedLockManager.acquire(1L))
+                    .isInstanceOf(PointBusyException.class)
+                    .hasMessage(ErrorMessage.LOCK_QUEUE_FULL);
+            assertThat(System.nanoTime() - startedAt).isLessThan(Duration.ofSeconds(1).toNanos());
+
+            lock.unlock();
+            waiter.get();
+        }
+    }
 }
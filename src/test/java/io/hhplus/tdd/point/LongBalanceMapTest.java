@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class LongBalanceMapTest {
+
+    LongBalanceMap balances = new LongBalanceMap();
+
+    @Test
+    void 잔고와_수정_시각을_하나의_값으로_묶었다가_그대로_꺼낸다() {
+        // given
+        long millis = System.currentTimeMillis();
+
+        // when
+        long packed = LongBalanceMap.pack(UserPoint.MAX_USER_POINT, millis);
+
+        // then
+        assertAll(
+                () -> assertThat(packed).isPositive(),
+                () -> assertThat(LongBalanceMap.point(packed)).isEqualTo(UserPoint.MAX_USER_POINT),
+                () -> assertThat(LongBalanceMap.updateMillis(packed)).isEqualTo(millis),
+                () -> assertThatThrownBy(() -> LongBalanceMap.pack(LongBalanceMap.MAX_POINT + 1, millis))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    @Test
+    void 테이블이_늘어나도_저장한_값을_모두_조회할_수_있다() {
+        // given
+        int userCount = 100_000;
+
+        // when
+        for (long id = 0; id < userCount; id++) {
+            balances.put(id, LongBalanceMap.pack(id % 1000, id));
+        }
+        balances.put(7L, LongBalanceMap.pack(1, 1)); // 기존 값 덮어쓰기
+
+        // then
+        assertAll(
+                () -> assertThat(balances.size()).isEqualTo(userCount),
+                () -> assertThat(LongBalanceMap.point(balances.get(99_999L))).isEqualTo(999L),
+                () -> assertThat(LongBalanceMap.updateMillis(balances.get(99_999L))).isEqualTo(99_999L),
+                () -> assertThat(LongBalanceMap.point(balances.get(7L))).isEqualTo(1L),
+                () -> assertThat(balances.get(-1L)).isEqualTo(LongBalanceMap.ABSENT),
+                () -> assertThat(balances.footprintBytes()).isLessThan(userCount * 48L) // 16바이트/유저, 부하율 0.5 이하 + 확장 여유
+        );
+    }
+
+    @Test
+    void 쓰는_중에_읽어도_잔고와_수정_시각이_같은_쓰기에서_나온_값이다() throws InterruptedException {
+        // given: 잔고와 수정 시각을 항상 같은 값으로 저장한다
+        int userCount = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+
+        // when: 새 유저 추가(테이블 확장)와 기존 유저 갱신이 일어나는 동안 읽는다
+        for (int writer = 0; writer < 2; writer++) {
+            int offset = writer;
+            executorService.submit(() -> {
+                for (long round = 1; round <= 20; round++) {
+                    for (long id = offset; id < userCount; id += 2) {
+                        balances.put(id, LongBalanceMap.pack(round, round));
+                    }
+                }
+            });
+        }
+        for (int reader = 0; reader < 2; reader++) {
+            executorService.submit(() -> {
+                while (running.get()) {
+                    for (long id = 0; id < userCount; id++) {
+                        long packed = balances.get(id);
+                        if (packed != LongBalanceMap.ABSENT && LongBalanceMap.point(packed) != LongBalanceMap.updateMillis(packed)) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        Thread.sleep(500);
+        running.set(false);
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertAll(
+                () -> assertThat(torn.get()).isZero(),
+                () -> assertThat(balances.size()).isEqualTo(userCount),
+                () -> assertThat(LongBalanceMap.point(balances.get(userCount - 1L))).isEqualTo(20L)
+        );
+    }
+}
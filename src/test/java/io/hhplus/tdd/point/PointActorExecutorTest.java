@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointActorExecutorTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
+    UserPointTable userPointTable = new UserPointTable();
+    PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    PointActorExecutor pointActorExecutor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointActorExecutor.shutdown();
+    }
+
+    @Test
+    void 같은_유저의_요청은_제출한_순서대로_처리된다() {
+        // given
+        pointActorExecutor = createExecutor(4, 100);
+        long userId = 1L;
+
+        // when: 앞선 요청의 완료를 기다리지 않고 한 번에 제출한다
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (long amount = 1; amount <= 5; amount++) {
+            results.add(pointActorExecutor.charge(userId, amount));
+        }
+        CompletableFuture<UserPoint> failed = pointActorExecutor.use(userId, 16L); // 잔고 부족
+        CompletableFuture<UserPoint> used = pointActorExecutor.use(userId, 15L);
+
+        // then
+        assertAll(
+                () -> assertThat(results).extracting(CompletableFuture::join).extracting(UserPoint::point)
+                        .containsExactly(1L, 3L, 6L, 10L, 15L),
+                () -> assertThatThrownBy(failed::join)
+                        .isInstanceOf(CompletionException.class)
+                        .hasCauseInstanceOf(IllegalArgumentException.class),
+                () -> assertThat(used.join().point()).isZero(),
+                () -> assertThat(userPointTable.selectById(userId).point()).isZero(),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(userId)).extracting(PointHistory::amount)
+                        .containsExactly(1L, 2L, 3L, 4L, 5L, 15L),
+                () -> assertThat(meterRegistry.get("point.actor.task").timer().count()).isEqualTo(7)
+        );
+    }
+
+    @Test
+    void 메일박스가_가득_차면_PointBusyException이_발생한다() {
+        // given
+        pointActorExecutor = createExecutor(1, 1);
+        List<CompletableFuture<UserPoint>> accepted = new ArrayList<>();
+
+        // when & then
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 10; i++) {
+                accepted.add(pointActorExecutor.charge(1L, 1L));
+            }
+        }).isInstanceOf(PointBusyException.class).hasMessage(ErrorMessage.LOCK_QUEUE_FULL);
+
+        CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new)).join();
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(accepted.size());
+    }
+
+    @Test
+    void 종료_시간_안에_처리하지_못한_요청은_실패로_완료되고_새_요청은_거절한다() throws InterruptedException {
+        // given
+        pointActorExecutor = createExecutor(1, 100, Duration.ofMillis(10));
+        List<CompletableFuture<UserPoint>> submitted = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            submitted.add(pointActorExecutor.charge(1L, 1L));
+        }
+
+        // when
+        pointActorExecutor.shutdown();
+
+        // then
+        CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+        long succeeded = submitted.stream().filter(future -> !future.isCompletedExceptionally()).count();
+        assertAll(
+                () -> assertThat(succeeded).isLessThan(20),
+                () -> assertThat(submitted).filteredOn(CompletableFuture::isCompletedExceptionally)
+                        .allSatisfy(future -> assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class)),
+                () -> assertThat(userPointTable.selectById(1L).point()).isEqualTo(succeeded),
+                () -> assertThat(pointActorExecutor.queueDepths()).containsOnly(0),
+                () -> assertThatThrownBy(() -> pointActorExecutor.charge(1L, 1L)).isInstanceOf(IllegalStateException.class)
+        );
+    }
+
+    @Test
+    void 작업_중_Error가_발생해도_해당_요청만_실패하고_같은_메일박스의_다음_요청을_처리한다() {
+        // given: 2번 유저의 잔고 조회는 Error로 실패한다
+        userPointTable = new UserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                if (id == 2L) {
+                    throw new AssertionError("조회 실패");
+                }
+                return super.selectById(id);
+            }
+        };
+        pointActorExecutor = createExecutor(1, 100);
+
+        // when
+        CompletableFuture<UserPoint> failed = pointActorExecutor.charge(2L, 100L);
+        CompletableFuture<UserPoint> next = pointActorExecutor.charge(1L, 100L);
+
+        // then
+        assertAll(
+                () -> assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(AssertionError.class),
+                () -> assertThat(next.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L)
+        );
+    }
+
+    private PointActorExecutor createExecutor(int mailboxes, int mailboxCapacity) {
+        return createExecutor(mailboxes, mailboxCapacity, Duration.ofSeconds(30));
+    }
+
+    private PointActorExecutor createExecutor(int mailboxes, int mailboxCapacity, Duration shutdownTimeout) {
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics)), pointCommitLog,
+                new PointHistoryAppendProperties(false, 10, 1, Duration.ZERO), new PointThreadFactory(false));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.ACTOR, new PointWriteProperties.GroupCommit(64),
+                new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(mailboxes, mailboxCapacity, shutdownTimeout));
+        return new PointActorExecutor(userPointCache, pointHistoryAppender, writeProperties, pointMetrics, new PointThreadFactory(false));
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointBatchServiceTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
+    UserPointTable userPointTable;
+    PointHistoryTable pointHistoryTable;
+    UserPointCache userPointCache;
+    LockManager lockManager;
+    PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        PointThreadFactory pointThreadFactory = new PointThreadFactory(false);
+        userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics)), pointCommitLog,
+                new PointHistoryAppendProperties(false, 10, 1, Duration.ZERO), pointThreadFactory);
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.LOCK,
+                new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        lockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ofMillis(100), 0), pointMetrics);
+
+        pointBatchService = new PointBatchService(userPointCache,
+                new PointGroupCommitter(userPointCache, pointHistoryAppender, lockManager, writeProperties),
+                new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, pointThreadFactory),
+                new PointActorExecutor(userPointCache, pointHistoryAppender, writeProperties, pointMetrics, pointThreadFactory),
+                writeProperties, pointMetrics, new PointBatchProperties(10, 4), pointThreadFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointBatchService.shutdown();
+    }
+
+    @Test
+    void 유저별로_요청_순서대로_적용하고_항목별_결과를_반환한다() {
+        // given
+        List<PointBatchRequest> requests = List.of(
+                new PointBatchRequest(1L, TransactionType.CHARGE, 1000L),
+                new PointBatchRequest(2L, TransactionType.CHARGE, 500L),
+                new PointBatchRequest(1L, TransactionType.USE, 300L),
+                new PointBatchRequest(2L, TransactionType.USE, 501L), // 잔고 부족
+                new PointBatchRequest(1L, TransactionType.USE, 700L)
+        );
+
+        // when
+        List<PointBatchResult> results = pointBatchService.execute(requests);
+
+        // then
+        assertAll(
+                () -> assertThat(results).extracting(PointBatchResult::isSuccess).containsExactly(true, true, true, false, true),
+                () -> assertThat(results.get(2).userPoint().point()).isEqualTo(700L),
+                () -> assertThat(results.get(3).error().message()).isEqualTo(ErrorMessage.INSUFFICIENT_POINTS),
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "CHARGE", "outcome", "success").timer().count()).isEqualTo(2),
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "USE", "outcome", "success").timer().count()).isEqualTo(2),
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "USE", "outcome", "failure").timer().count()).isEqualTo(1),
+                () -> assertThat(results.get(4).userPoint().point()).isZero(),
+                () -> assertThat(userPointTable.selectById(1L).point()).isZero(),
+                () -> assertThat(userPointTable.selectById(2L).point()).isEqualTo(500L),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::type)
+                        .containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.USE),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(2L)).hasSize(1)
+        );
+    }
+
+    @Test
+    void 유저_락을_얻지_못한_유저의_항목만_실패하고_다른_유저의_결과는_반환한다() {
+        // given: 다른 스레드가 1번 유저의 락을 잡고 놓지 않는다
+        Lock holding = lockManager.getLock(1L);
+        holding.lock();
+        List<PointBatchRequest> requests = List.of(
+                new PointBatchRequest(1L, TransactionType.CHARGE, 1000L),
+                new PointBatchRequest(2L, TransactionType.CHARGE, 500L),
+                new PointBatchRequest(1L, TransactionType.USE, 300L)
+        );
+
+        // when
+        List<PointBatchResult> results;
+        try {
+            results = pointBatchService.execute(requests);
+        } finally {
+            holding.unlock();
+        }
+
+        // then
+        assertAll(
+                () -> assertThat(results).extracting(PointBatchResult::isSuccess).containsExactly(false, true, false),
+                () -> assertThat(results.get(0).error().code()).isEqualTo("429"),
+                () -> assertThat(results.get(0).error().message()).isEqualTo(ErrorMessage.LOCK_WAIT_TIMEOUT),
+                () -> assertThat(results.get(2).error().code()).isEqualTo("429"),
+                () -> assertThat(results.get(1).userPoint().point()).isEqualTo(500L),
+                () -> assertThat(userPointTable.selectById(1L).point()).isZero(),
+                () -> assertThat(userPointTable.selectById(2L).point()).isEqualTo(500L)
+        );
+    }
+
+    @Test
+    void 최대_항목_수를_넘으면_예외가_발생한다() {
+        // given
+        List<PointBatchRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(new PointBatchRequest(i, TransactionType.CHARGE, 1L));
+        }
+
+        // when & then
+        assertThatThrownBy(() -> pointBatchService.execute(requests))
+                .isInstanceOf(InvalidPointRequestException.class)
+                .hasMessage(ErrorMessage.exceedBatchSize(10));
+    }
+
+    @Test
+    void 여러_유저_조회시_캐시된_항목은_캐시에서_나머지는_테이블에서_조회한다() {
+        // given
+        userPointCache.insertOrUpdate(1L, 100L);
+        userPointTable.insertOrUpdate(2L, 200L);
+
+        // when
+        List<UserPoint> userPoints = pointBatchService.getPoints(List.of(1L, 2L, 3L, 1L));
+
+        // then
+        assertAll(
+                () -> assertThat(userPoints).extracting(UserPoint::id).containsExactly(1L, 2L, 3L),
+                () -> assertThat(userPoints).extracting(UserPoint::point).containsExactly(100L, 200L, 0L),
+                () -> assertThat(userPointCache.stats().hitCount()).isZero(),
+                () -> assertThat(userPointCache.stats().missCount()).isEqualTo(2L)
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointCommitLogRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    @Test
+    void 재시작하면_로그를_재생해_잔고와_내역을_복구한다() throws InterruptedException {
+        // given
+        PointCommitLog pointCommitLog = openLog();
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 10L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 20L);
+        pointCommitLog.append(1L, 30L, TransactionType.USE, 30L);
+        pointCommitLog.shutdown();
+
+        // when
+        PointCommitLog reopenedLog = openLog();
+        UserPointCache userPointCache = userPointCache();
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(new PointHistoryTable(), pointMetrics));
+        recovery(reopenedLog, userPointCache, pointHistoryStore).recover();
+        reopenedLog.shutdown();
+
+        // then
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+        assertAll(
+                () -> assertThat(userPointCache.selectById(1L)).isEqualTo(new UserPoint(1L, 70L, 30L)),
+                () -> assertThat(userPointCache.selectById(2L)).isEqualTo(new UserPoint(2L, 50L, 20L)),
+                () -> assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 3L),
+                () -> assertThat(histories).extracting(PointHistory::amount).containsExactly(100L, 30L),
+                () -> assertThat(histories).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE),
+                () -> assertThat(pointHistoryStore.summarize(1L).stats(TransactionType.USE).sum()).isEqualTo(30L),
+                () -> assertThat(meterRegistry.get("point.recovery").timer().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void 복구는_테이블의_저장_지연을_거치지_않고_이후_내역은_복구한_id_뒤에_이어진다() throws InterruptedException {
+        // given
+        PointCommitLog pointCommitLog = openLog();
+        for (int i = 0; i < 200; i++) {
+            pointCommitLog.append(i % 10, 10L, TransactionType.CHARGE, i);
+        }
+        pointCommitLog.shutdown();
+        PointCommitLog reopenedLog = openLog();
+        UserPointCache userPointCache = userPointCache();
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(new PointHistoryTable(), pointMetrics));
+
+        // when
+        recovery(reopenedLog, userPointCache, pointHistoryStore).recover();
+        reopenedLog.shutdown();
+        PointHistory inserted = pointHistoryStore.insert(3L, 10L, TransactionType.USE, 1_000L);
+
+        // then
+        assertAll(
+                () -> assertThat(meterRegistry.get("point.table.latency").tag("operation", "insert").timer().count()).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("point.table.latency").tag("operation", "insertOrUpdate").timer().count()).isZero(),
+                () -> assertThat(userPointCache.selectById(3L).point()).isEqualTo(200L),
+                () -> assertThat(inserted.id()).isEqualTo(201L),
+                () -> assertThat(pointHistoryStore.selectAllByUserId(3L)).hasSize(21)
+                        .extracting(PointHistory::id).isSorted().endsWith(201L)
+        );
+    }
+
+    private PointCommitLog openLog() {
+        return new PointCommitLog(new PointCommitLogProperties(true, directory.resolve("commit-log"), DataSize.ofKilobytes(4), Duration.ofMillis(1), true),
+                new PointThreadFactory(false));
+    }
+
+    private UserPointCache userPointCache() {
+        return new UserPointCache(new UserPointTableRepository(new UserPointTable(), pointMetrics),
+                new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+    }
+
+    private PointCommitLogRecovery recovery(PointCommitLog pointCommitLog, UserPointCache userPointCache, PointHistoryStore pointHistoryStore) {
+        PointSnapshotter disabled = new PointSnapshotter(new PointSnapshotProperties(false, directory.resolve("snapshot"), Duration.ofHours(1), 1),
+                pointCommitLog, new PointThreadFactory(false));
+        return new PointCommitLogRecovery(pointCommitLog, disabled, userPointCache, pointHistoryStore, pointMetrics);
+    }
+}
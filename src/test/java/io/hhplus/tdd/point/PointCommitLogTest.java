@@ -0,0 +1,188 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointCommitLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 기록한_레코드를_다시_열어_순서대로_재생할_수_있다() throws InterruptedException, IOException {
+        // given: 세그먼트 하나에 레코드 2개만 들어가도록 해 세그먼트 교체까지 확인한다
+        PointCommitLog pointCommitLog = open(DataSize.ofBytes(PointCommitLogRecord.BYTES * 2));
+        for (long amount = 1; amount <= 5; amount++) {
+            pointCommitLog.append(1L, amount, amount % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, amount);
+        }
+        pointCommitLog.shutdown();
+
+        // when
+        PointCommitLog reopened = open(DataSize.ofBytes(PointCommitLogRecord.BYTES * 2));
+        List<PointCommitLogRecord> records = new ArrayList<>();
+        long lastSequence = reopened.replay(0, records::add);
+        long nextSequence = reopened.append(2L, 10L, TransactionType.CHARGE, 10L);
+        reopened.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(segmentCount()).isEqualTo(3),
+                () -> assertThat(records).extracting(PointCommitLogRecord::sequence).containsExactly(1L, 2L, 3L, 4L, 5L),
+                () -> assertThat(records).extracting(PointCommitLogRecord::amount).containsExactly(1L, 2L, 3L, 4L, 5L),
+                () -> assertThat(records.get(1).type()).isEqualTo(TransactionType.USE),
+                () -> assertThat(lastSequence).isEqualTo(5L),
+                () -> assertThat(nextSequence).isEqualTo(6L)
+        );
+    }
+
+    @Test
+    void 기록_도중_끊긴_레코드는_재생하지_않고_덮어쓴다() throws InterruptedException, IOException {
+        // given
+        PointCommitLog pointCommitLog = open(DataSize.ofKilobytes(4));
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 1L);
+        pointCommitLog.append(1L, 200L, TransactionType.CHARGE, 2L);
+        pointCommitLog.shutdown();
+        corruptLastByteOfRecord(1); // 두 번째 레코드의 체크섬을 깨뜨린다
+
+        // when
+        PointCommitLog reopened = open(DataSize.ofKilobytes(4));
+        long nextSequence = reopened.append(1L, 300L, TransactionType.CHARGE, 3L);
+        List<PointCommitLogRecord> records = new ArrayList<>();
+        reopened.replay(0, records::add);
+        reopened.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(nextSequence).isEqualTo(2L),
+                () -> assertThat(records).extracting(PointCommitLogRecord::amount).containsExactly(100L, 300L)
+        );
+    }
+
+    @Test
+    void 보관_파일로_옮긴_세그먼트는_지워지고_재생은_보관_파일부터_이어진다() throws InterruptedException, IOException {
+        // given: 세그먼트 하나에 레코드 2개씩, [1, 2] [3, 4] [5] 세 세그먼트가 만들어진다
+        PointCommitLog pointCommitLog = open(DataSize.ofBytes(PointCommitLogRecord.BYTES * 2));
+        for (long amount = 1; amount <= 5; amount++) {
+            pointCommitLog.append(1L, amount, TransactionType.CHARGE, amount);
+        }
+
+        // when
+        long archived = pointCommitLog.archive(3L);
+        List<PointCommitLogRecord> records = new ArrayList<>();
+        pointCommitLog.replay(0, records::add);
+        List<PointCommitLogRecord> tail = new ArrayList<>();
+        pointCommitLog.replay(2, tail::add);
+        pointCommitLog.shutdown();
+        PointCommitLog reopened = open(DataSize.ofBytes(PointCommitLogRecord.BYTES * 2));
+        List<PointCommitLogRecord> reopenedRecords = new ArrayList<>();
+        reopened.replay(0, reopenedRecords::add);
+        long reopenedArchived = reopened.archivedSequence();
+        reopened.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(archived).isEqualTo(3L),
+                () -> assertThat(segmentNames()).containsExactly(String.format("%020d.log", 3), String.format("%020d.log", 5)),
+                () -> assertThat(Files.exists(directory.resolve("archive.dat"))).isTrue(),
+                () -> assertThat(records).extracting(PointCommitLogRecord::sequence).containsExactly(1L, 2L, 3L, 4L, 5L),
+                () -> assertThat(tail).extracting(PointCommitLogRecord::sequence).containsExactly(3L, 4L, 5L),
+                () -> assertThat(reopenedRecords).extracting(PointCommitLogRecord::amount).containsExactly(1L, 2L, 3L, 4L, 5L),
+                () -> assertThat(reopenedArchived).isEqualTo(3L)
+        );
+    }
+
+    @Test
+    void 종료와_겹친_기록은_멈추지_않고_성공한_기록은_모두_동기화된다() throws Exception {
+        // given: 동기화 스레드가 돌지 않도록 주기를 길게 두어, 기다리는 기록은 종료 시의 마지막 동기화로만 풀린다
+        PointCommitLog pointCommitLog = new PointCommitLog(new PointCommitLogProperties(true, directory, DataSize.ofKilobytes(64), Duration.ofSeconds(60), true),
+                new PointThreadFactory(false));
+        int threadCount = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch started = new CountDownLatch(threadCount);
+        ConcurrentLinkedQueue<Long> appended = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t + 1;
+            futures.add(executorService.submit(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        appended.add(pointCommitLog.append(userId, 10L, TransactionType.CHARGE, 1L));
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        started.await();
+
+        // when
+        pointCommitLog.shutdown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+        PointCommitLog reopened = open(DataSize.ofKilobytes(64));
+        List<PointCommitLogRecord> records = new ArrayList<>();
+        reopened.replay(0, records::add);
+        reopened.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(errors).hasSize(threadCount).allMatch(e -> e instanceof IllegalStateException),
+                () -> assertThat(records).extracting(PointCommitLogRecord::sequence).containsAll(appended)
+        );
+    }
+
+    private PointCommitLog open(DataSize segmentSize) {
+        return new PointCommitLog(new PointCommitLogProperties(true, directory, segmentSize, Duration.ofMillis(1), true),
+                new PointThreadFactory(false));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void corruptLastByteOfRecord(int index) throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), (long) PointCommitLogRecord.BYTES * (index + 1) - 1);
+        }
+    }
+}
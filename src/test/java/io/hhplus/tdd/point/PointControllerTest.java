@@ -9,18 +9,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,6 +36,9 @@ class PointControllerTest {
     @MockBean
     PointService pointService;
 
+    @MockBean
+    PointBatchService pointBatchService;
+
     @Test
     void 유저_포인트_조회_요청시_UserPoint를_반환한다() throws Exception {
         // given
@@ -48,6 +55,25 @@ class PointControllerTest {
                 .andExpect(jsonPath("$.updateMillis").exists());
     }
 
+    @Test
+    void 유저_포인트_요약_조회_요청시_종류별_집계를_반환한다() throws Exception {
+        // given
+        long userId = 1L;
+        PointHistorySummary summary = new PointHistorySummary(userId,
+                new PointHistorySummary.Stats(2, 4000L, 1000L, 3000L, 2L),
+                new PointHistorySummary.Stats(1, 500L, 500L, 500L, 3L));
+        given(pointService.getUserPointSummary(userId)).willReturn(summary);
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andExpect(jsonPath("$.charge.count").value(2))
+                .andExpect(jsonPath("$.charge.sum").value(4000L))
+                .andExpect(jsonPath("$.use.max").value(500L))
+                .andExpect(jsonPath("$.use.lastActivityMillis").value(3L));
+    }
+
     @Nested
     class 유저포인트_내역_조회 {
         @Test
@@ -81,6 +107,75 @@ class PointControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.length()").value(0));
         }
+
+        @Test
+        void 스트리밍_요청시_내역을_한_줄에_하나씩_NDJSON으로_반환한다() throws Exception {
+            // given
+            long userId = 1L;
+            PointHistory pointHistory1 = new PointHistory(1L, userId, 3000L, TransactionType.CHARGE, 1L);
+            PointHistory pointHistory2 = new PointHistory(2L, userId, 1000L, TransactionType.USE, 2L);
+
+            doAnswer(invocation -> {
+                Consumer<PointHistory> action = invocation.getArgument(1);
+                action.accept(pointHistory1);
+                action.accept(pointHistory2);
+                return null;
+            }).when(pointService).forEachUserPointHistory(eq(userId), any());
+
+            // when
+            MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories/stream", userId))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // then
+            String body = mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            assertThat(body.split("\n"))
+                    .hasSize(2)
+                    .allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        }
+
+        @Test
+        void 페이지_조회_요청시_조건과_함께_PointHistoryPage를_반환한다() throws Exception {
+            // given
+            long userId = 1L;
+            PointHistory pointHistory = new PointHistory(11L, userId, 3000L, TransactionType.USE, 100L);
+            PointHistoryQuery query = new PointHistoryQuery(10L, 1, 50L, 150L, TransactionType.USE);
+
+            given(pointService.getUserPointHistoryPage(userId, query))
+                    .willReturn(new PointHistoryPage(List.of(pointHistory), 11L));
+
+            // when & then
+            mockMvc.perform(get("/point/{id}/histories/page", userId)
+                            .param("cursor", "10")
+                            .param("size", "1")
+                            .param("from", "50")
+                            .param("to", "150")
+                            .param("type", "USE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(11L))
+                    .andExpect(jsonPath("$.nextCursor").value(11L));
+        }
+    }
+
+    @Test
+    void 페이지_조회_조건이_올바르지_않으면_400을_반환한다() throws Exception {
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories/page", 1L)
+                        .param("size", String.valueOf(PointHistoryQuery.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.INVALID_PAGE_SIZE));
+        mockMvc.perform(get("/point/{id}/histories/page", 1L)
+                        .param("from", "200")
+                        .param("to", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ErrorMessage.INVALID_TIME_RANGE));
     }
 
     @Nested
@@ -145,6 +240,56 @@ class PointControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.point").value(1001L));
         }
+
+        @Test
+        void 같은_Idempotency_Key로_다시_요청하면_한_번만_충전하고_처음_결과를_반환한다() throws Exception {
+            // given
+            long userId = 1L;
+            String idempotencyKey = "charge-" + System.nanoTime();
+            given(pointService.chargePoint(userId, 1000L)).willReturn(new UserPoint(userId, 1000L, 1L));
+
+            // when & then
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(patch("/point/{id}/charge", userId)
+                                .header(IdempotencyCache.HEADER, idempotencyKey)
+                                .content("1000")
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.point").value(1000L))
+                        .andExpect(jsonPath("$.updateMillis").value(1L));
+            }
+            verify(pointService, times(1)).chargePoint(userId, 1000L);
+        }
+
+        @Test
+        void Idempotency_Key가_올바르지_않거나_다른_포인트로_다시_사용되면_400을_반환한다() throws Exception {
+            // given
+            long userId = 1L;
+            String idempotencyKey = "charge-" + System.nanoTime();
+            given(pointService.chargePoint(userId, 1000L)).willReturn(new UserPoint(userId, 1000L, 1L));
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .header(IdempotencyCache.HEADER, idempotencyKey)
+                            .content("1000")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+
+            // when & then
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .header(IdempotencyCache.HEADER, idempotencyKey)
+                            .content("2000")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("400"))
+                    .andExpect(jsonPath("$.message").value(ErrorMessage.IDEMPOTENCY_KEY_REUSED));
+            mockMvc.perform(patch("/point/{id}/charge", userId)
+                            .header(IdempotencyCache.HEADER, "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1))
+                            .content("1000")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(ErrorMessage.INVALID_IDEMPOTENCY_KEY));
+            verify(pointService, times(1)).chargePoint(userId, 1000L);
+            verify(pointService, times(0)).chargePoint(userId, 2000L);
+        }
     }
 
     @Nested
@@ -210,4 +355,81 @@ class PointControllerTest {
                     .andExpect(jsonPath("$.point").value(999L));
         }
     }
+
+    @Test
+    void 일괄_요청시_항목별_처리_결과를_반환한다() throws Exception {
+        // given
+        PointBatchRequest chargeRequest = new PointBatchRequest(1L, TransactionType.CHARGE, 1000L);
+        PointBatchRequest useRequest = new PointBatchRequest(2L, TransactionType.USE, 1000L);
+        List<PointBatchRequest> requests = List.of(chargeRequest, useRequest);
+
+        given(pointBatchService.execute(requests)).willReturn(List.of(
+                PointBatchResult.success(chargeRequest, new UserPoint(1L, 1000L, 1L)),
+                PointBatchResult.failure(useRequest, new IllegalArgumentException(ErrorMessage.INSUFFICIENT_POINTS))
+        ));
+
+        // when & then
+        mockMvc.perform(post("/point/batch")
+                        .content("""
+                                [{"userId": 1, "type": "CHARGE", "amount": 1000},
+                                 {"userId": 2, "type": "USE", "amount": 1000}]
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].userPoint.point").value(1000L))
+                .andExpect(jsonPath("$[1].error.message").value(ErrorMessage.INSUFFICIENT_POINTS));
+    }
+
+    @Test
+    void 일괄_요청이_최대_항목_수를_넘으면_400을_반환한다() throws Exception {
+        // given
+        given(pointBatchService.execute(any())).willThrow(new InvalidPointRequestException(ErrorMessage.exceedBatchSize(1)));
+        given(pointBatchService.getPoints(any())).willThrow(new InvalidPointRequestException(ErrorMessage.exceedBatchSize(1)));
+
+        // when & then
+        mockMvc.perform(post("/point/batch")
+                        .content("""
+                                [{"userId": 1, "type": "CHARGE", "amount": 1000},
+                                 {"userId": 2, "type": "CHARGE", "amount": 1000}]
+                                """)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.exceedBatchSize(1)));
+        mockMvc.perform(get("/point").param("ids", "1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(ErrorMessage.exceedBatchSize(1)));
+    }
+
+    @Test
+    void 여러_유저_포인트_조회_요청시_UserPoint리스트를_반환한다() throws Exception {
+        // given
+        given(pointBatchService.getPoints(List.of(1L, 2L))).willReturn(List.of(
+                new UserPoint(1L, 100L, 1L),
+                new UserPoint(2L, 200L, 1L)
+        ));
+
+        // when & then
+        mockMvc.perform(get("/point").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].point").value(100L))
+                .andExpect(jsonPath("$[1].point").value(200L));
+    }
+
+    @Test
+    void 유저_락을_얻지_못해_거절되면_429를_반환한다() throws Exception {
+        // given
+        doThrow(new PointBusyException(ErrorMessage.LOCK_WAIT_TIMEOUT))
+                .when(pointService).chargePoint(anyLong(), anyLong());
+
+        // when & then
+        mockMvc.perform(patch("/point/{id}/charge", 1L)
+                        .content("1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("429"))
+                .andExpect(jsonPath("$.message").value(ErrorMessage.LOCK_WAIT_TIMEOUT));
+    }
 }
@@ -0,0 +1,183 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointGroupCommitterTest {
+
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
+    UserPointTable userPointTable;
+    PointHistoryTable pointHistoryTable;
+    PointGroupCommitter pointGroupCommitter;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.GROUP_COMMIT, new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics)), pointCommitLog, new PointHistoryAppendProperties(false, 10, 1, Duration.ZERO), new PointThreadFactory(false));
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        pointGroupCommitter = new PointGroupCommitter(userPointCache, pointHistoryAppender, new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ZERO, 0), pointMetrics), writeProperties);
+    }
+
+    @Test
+    void 단일_요청도_충전후_UserPoint를_반환하고_내역을_남긴다() {
+        // given
+        long userId = 1L;
+
+        // when
+        UserPoint result = pointGroupCommitter.charge(userId, 1000L);
+
+        // then
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+        assertAll(
+                () -> assertThat(result.point()).isEqualTo(1000L),
+                () -> assertThat(userPointTable.selectById(userId).point()).isEqualTo(1000L),
+                () -> assertThat(histories).hasSize(1),
+                () -> assertThat(histories.get(0).type()).isEqualTo(TransactionType.CHARGE)
+        );
+    }
+
+    @Test
+    void 검증에_실패한_요청은_해당_요청자에게만_예외가_전달된다() {
+        // given
+        long userId = 2L;
+        userPointTable.insertOrUpdate(userId, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> pointGroupCommitter.use(userId, 101L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(ErrorMessage.INSUFFICIENT_POINTS);
+        assertThat(pointGroupCommitter.use(userId, 100L).point()).isZero();
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(1);
+    }
+
+    @Test
+    void 동시에_들어온_충전_요청은_각자의_결과를_받고_모두_반영된다() throws InterruptedException {
+        // given
+        long userId = 3L;
+        long chargeAmount = 100L;
+        int threadCount = 20;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ConcurrentLinkedQueue<UserPoint> results = new ConcurrentLinkedQueue<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    results.add(pointGroupCommitter.charge(userId, chargeAmount));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Set<Long> resultPoints = results.stream().map(UserPoint::point).collect(Collectors.toSet());
+        assertAll(
+                () -> assertThat(userPointTable.selectById(userId).point()).isEqualTo(chargeAmount * threadCount),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(threadCount),
+                // 각 요청자는 자신의 충전 직후 잔고를 받으므로 결과는 모두 다르다
+                () -> assertThat(resultPoints).hasSize(threadCount)
+        );
+    }
+
+    @Test
+    void 동시에_들어온_사용_요청중_잔고를_초과한_요청만_실패한다() throws InterruptedException {
+        // given
+        long userId = 4L;
+        long useAmount = 100L;
+        int threadCount = 10;
+        userPointTable.insertOrUpdate(userId, useAmount * 5);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ConcurrentLinkedQueue<Exception> failures = new ConcurrentLinkedQueue<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    pointGroupCommitter.use(userId, useAmount);
+                } catch (IllegalArgumentException e) {
+                    failures.add(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(userPointTable.selectById(userId).point()).isZero(),
+                () -> assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(5),
+                () -> assertThat(failures).hasSize(5)
+                        .allSatisfy(e -> assertThat(e).hasMessage(ErrorMessage.INSUFFICIENT_POINTS))
+        );
+    }
+
+    @Test
+    void 잔고_저장_후_내역_기록에_실패해도_요청은_성공으로_완료된다() {
+        // given
+        long userId = 4L;
+        PointHistoryRepository failingRepository = new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                throw new IllegalStateException("내역 저장 실패");
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return List.of();
+            }
+
+            @Override
+            public void restore(List<PointHistory> histories, long lastId) {
+            }
+        };
+        PointHistoryAppender failingAppender = new PointHistoryAppender(new PointHistoryStore(failingRepository), pointCommitLog,
+                new PointHistoryAppendProperties(false, 10, 1, Duration.ZERO), new PointThreadFactory(false));
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 1, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.GROUP_COMMIT, new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        PointGroupCommitter committer = new PointGroupCommitter(userPointCache, failingAppender,
+                new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ZERO, 0), pointMetrics), writeProperties);
+
+        // when
+        UserPoint charged = committer.charge(userId, 500L);
+        List<PointBatchResult> results = committer.commitAll(userId, List.of(
+                new PointBatchRequest(userId, TransactionType.USE, 100L),
+                new PointBatchRequest(userId, TransactionType.USE, 1_000L)));
+
+        // then
+        assertAll(
+                () -> assertThat(charged.point()).isEqualTo(500L),
+                () -> assertThat(results.get(0).isSuccess()).isTrue(),
+                () -> assertThat(results.get(1).isSuccess()).isFalse(),
+                () -> assertThat(userPointTable.selectById(userId).point()).isEqualTo(400L)
+        );
+    }
+}
@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointHistoryAppenderTest {
+
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
+    PointHistoryTable pointHistoryTable;
+    PointHistoryStore pointHistoryStore;
+    PointHistoryAppender pointHistoryAppender;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = new PointHistoryTable();
+        pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics));
+        pointHistoryAppender = new PointHistoryAppender(pointHistoryStore, pointCommitLog, new PointHistoryAppendProperties(true, 100, 2, Duration.ofSeconds(30)), new PointThreadFactory(false));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryAppender.shutdown();
+    }
+
+    @Test
+    void 기록_대기중인_내역도_바로_조회된다() {
+        // given
+        long userId = 1L;
+
+        // when
+        pointHistoryAppender.append(userId, 1000L, TransactionType.CHARGE, 1L);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(userId);
+
+        // then
+        assertAll(
+                () -> assertThat(histories).hasSize(1),
+                () -> assertThat(histories.get(0).amount()).isEqualTo(1000L)
+        );
+    }
+
+    @Test
+    void 비동기로_기록된_내역은_요청_순서대로_테이블에_저장된다() throws InterruptedException {
+        // given
+        long userId = 1L;
+        for (int i = 1; i <= 5; i++) {
+            pointHistoryAppender.append(userId, i, TransactionType.CHARGE, i);
+        }
+
+        // when
+        boolean flushed = pointHistoryAppender.flush(Duration.ofSeconds(10));
+
+        // then
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+        assertAll(
+                () -> assertThat(flushed).isTrue(),
+                () -> assertThat(pointHistoryAppender.pendingCount()).isZero(),
+                () -> assertThat(histories).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L),
+                () -> assertThat(pointHistoryStore.selectAllByUserId(userId)).isEqualTo(histories)
+        );
+    }
+
+    @Test
+    void 종료하면_남은_내역을_모두_기록하고_새_내역은_받지_않는다() throws InterruptedException {
+        // given
+        long userId = 1L;
+        pointHistoryAppender.append(userId, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryAppender.append(userId, 50L, TransactionType.USE, 2L);
+
+        // when
+        pointHistoryAppender.shutdown();
+
+        // then
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(2);
+        assertThatThrownBy(() -> pointHistoryAppender.append(userId, 1L, TransactionType.CHARGE, 3L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void 대기열에_자리를_기다리던_중_종료되면_내역을_남기지_않고_거절한다() throws Exception {
+        // given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTableRepository repository = new PointHistoryTableRepository(pointHistoryTable, pointMetrics);
+        PointHistoryStore blockingStore = new PointHistoryStore(new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return repository.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return repository.selectAllByUserId(userId);
+            }
+
+            @Override
+            public void restore(List<PointHistory> histories, long lastId) {
+                repository.restore(histories, lastId);
+            }
+        });
+        PointHistoryAppender appender = new PointHistoryAppender(blockingStore, pointCommitLog,
+                new PointHistoryAppendProperties(true, 1, 1, Duration.ofSeconds(5)), new PointThreadFactory(false));
+        appender.append(1L, 100L, TransactionType.CHARGE, 1L);
+        writing.await(5, TimeUnit.SECONDS);
+        appender.append(1L, 200L, TransactionType.CHARGE, 2L);
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> appender.append(1L, 300L, TransactionType.CHARGE, 3L));
+
+        // when
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(() -> {
+            try {
+                appender.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // then
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        release.countDown();
+        shutdown.get(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertThat(pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                () -> assertThat(blockingStore.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                () -> assertThat(appender.pendingCount()).isZero()
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointHistoryNdjsonWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void 내역마다_구분자_없이_JSON_한_줄과_줄바꿈만_기록한다() throws IOException {
+        // given
+        PointHistory pointHistory1 = new PointHistory(1L, 1L, 3000L, TransactionType.CHARGE, 1L);
+        PointHistory pointHistory2 = new PointHistory(2L, 1L, 1000L, TransactionType.USE, 2L);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        try (PointHistoryNdjsonWriter writer = new PointHistoryNdjsonWriter(objectMapper, outputStream)) {
+            writer.accept(pointHistory1);
+            writer.accept(pointHistory2);
+        }
+
+        // then
+        String expected = objectMapper.writeValueAsString(pointHistory1) + "\n"
+                + objectMapper.writeValueAsString(pointHistory2) + "\n";
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void 일정_건수마다만_flush_한다() throws IOException {
+        // given
+        FlushCountingOutputStream outputStream = new FlushCountingOutputStream();
+        PointHistory pointHistory = new PointHistory(1L, 1L, 3000L, TransactionType.CHARGE, 1L);
+
+        // when
+        long flushesBeforeInterval;
+        try (PointHistoryNdjsonWriter writer = new PointHistoryNdjsonWriter(objectMapper, outputStream)) {
+            for (int i = 0; i < PointHistoryNdjsonWriter.FLUSH_INTERVAL_ROWS - 1; i++) {
+                writer.accept(pointHistory);
+            }
+            flushesBeforeInterval = outputStream.flushes;
+            writer.accept(pointHistory);
+        }
+
+        // then
+        long flushes = flushesBeforeInterval;
+        assertAll(
+                () -> assertThat(flushes).isZero(),
+                () -> assertThat(outputStream.flushes).isGreaterThanOrEqualTo(1)
+        );
+    }
+
+    private static final class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private long flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
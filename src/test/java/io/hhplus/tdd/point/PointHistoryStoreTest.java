@@ -0,0 +1,274 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointHistoryStoreTest {
+
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    PointHistoryTable pointHistoryTable;
+    PointHistoryStore pointHistoryStore;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = new PointHistoryTable();
+        pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics));
+    }
+
+    @Test
+    void 저장한_내역은_해당_유저의_인덱스로만_조회된다() {
+        // given
+        pointHistoryStore.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryStore.insert(2L, 2000L, TransactionType.CHARGE, 2L);
+        pointHistoryStore.insert(1L, 500L, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        // then
+        assertAll(
+                () -> assertThat(histories).hasSize(2),
+                () -> assertThat(histories).allSatisfy(history -> assertThat(history.userId()).isEqualTo(1L)),
+                () -> assertThat(histories.get(0).type()).isEqualTo(TransactionType.CHARGE),
+                () -> assertThat(histories.get(1).type()).isEqualTo(TransactionType.USE)
+        );
+    }
+
+    @Test
+    void 테이블에_직접_저장된_내역은_처음_조회할_때_인덱스에_채워진다() {
+        // given
+        pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryTable.insert(1L, 2000L, TransactionType.CHARGE, 2L);
+
+        // when
+        pointHistoryStore.insert(1L, 300L, TransactionType.USE, 3L);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, 2000L, 300L);
+    }
+
+    @Test
+    void 인덱스를_적재하는_동안_같은_버킷의_다른_유저_조회를_막지_않는다() throws Exception {
+        // given: 기본 크기의 ConcurrentHashMap에서 1과 17은 같은 버킷에 들어간다
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryTableRepository repository = new PointHistoryTableRepository(pointHistoryTable, pointMetrics);
+        PointHistoryStore slowStore = new PointHistoryStore(new PointHistoryRepository() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                return repository.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                if (userId == 1L) {
+                    loading.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return repository.selectAllByUserId(userId);
+            }
+
+            @Override
+            public void restore(List<PointHistory> histories, long lastId) {
+                repository.restore(histories, lastId);
+            }
+        });
+        CompletableFuture<List<PointHistory>> slow = CompletableFuture.supplyAsync(() -> slowStore.selectAllByUserId(1L));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<List<PointHistory>> other = CompletableFuture.supplyAsync(() -> slowStore.selectAllByUserId(17L));
+        List<PointHistory> otherHistories = other.get(5, TimeUnit.SECONDS);
+        boolean slowDoneBeforeRelease = slow.isDone();
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertThat(otherHistories).isEmpty(),
+                () -> assertThat(slowDoneBeforeRelease).isFalse(),
+                () -> assertThat(slow.get(5, TimeUnit.SECONDS)).isEmpty(),
+                () -> assertThat(slowStore.isIndexed(1L)).isTrue()
+        );
+    }
+
+    @Test
+    void 내역을_저장할_때마다_종류별_집계가_갱신되고_다시_구성해도_같다() {
+        // given
+        pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, 1L); // 인덱스 구성 시 집계에 포함된다
+        pointHistoryStore.insert(1L, 3000L, TransactionType.CHARGE, 2L);
+        pointHistoryStore.insert(1L, 500L, TransactionType.USE, 3L);
+        pointHistoryStore.insert(1L, 200L, TransactionType.USE, 4L);
+        pointHistoryStore.insert(2L, 100L, TransactionType.CHARGE, 5L);
+
+        // when
+        PointHistorySummary summary = pointHistoryStore.summarize(1L);
+        PointHistoryStore rebuilt = new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics));
+
+        // then
+        assertAll(
+                () -> assertThat(summary.charge()).isEqualTo(new PointHistorySummary.Stats(2, 4000L, 1000L, 3000L, 2L)),
+                () -> assertThat(summary.use()).isEqualTo(new PointHistorySummary.Stats(2, 700L, 200L, 500L, 4L)),
+                () -> assertThat(rebuilt.summarize(1L)).isEqualTo(summary),
+                () -> assertThat(pointHistoryStore.summarize(3L)).isEqualTo(PointHistorySummary.empty(3L))
+        );
+    }
+
+    @Test
+    void 여러번_저장해도_내역은_id_오름차순으로_유지된다() {
+        // given
+        for (int i = 1; i <= 100; i++) {
+            pointHistoryStore.insert(1L, i, TransactionType.CHARGE, i);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        // then
+        assertAll(
+                () -> assertThat(histories).hasSize(100),
+                () -> assertThat(histories).isSortedAccordingTo((a, b) -> Long.compare(a.id(), b.id()))
+        );
+    }
+
+    @Test
+    void 저장소가_인덱스를_유지하면_유저별_배열_없이_저장소의_인덱스로_조회한다() {
+        // given
+        ColumnarPointHistoryStore columnar = new ColumnarPointHistoryStore();
+        PointHistoryStore indexedStore = new PointHistoryStore(columnar);
+        indexedStore.insert(1L, 100L, TransactionType.CHARGE, 1L);
+        indexedStore.insert(2L, 200L, TransactionType.CHARGE, 2L);
+        PendingPointHistory pending = new PendingPointHistory(1L, 1L, 50L, TransactionType.USE, 3L);
+        indexedStore.addPending(pending);
+
+        // when
+        List<PointHistory> withPending = indexedStore.selectAllByUserId(1L);
+        PointHistoryPage pendingPage = indexedStore.findPage(1L, PointHistoryQuery.first(10));
+        PointHistory committed = indexedStore.commitPending(pending);
+        List<PointHistory> visited = new ArrayList<>();
+        indexedStore.forEach(visited::add);
+
+        // then
+        assertAll(
+                () -> assertThat(withPending).extracting(PointHistory::id).containsExactly(1L, 0L),
+                () -> assertThat(pendingPage.content()).extracting(PointHistory::amount).containsExactly(100L),
+                () -> assertThat(indexedStore.selectAllByUserId(1L)).isEqualTo(columnar.selectAllByUserId(1L))
+                        .extracting(PointHistory::id).containsExactly(1L, committed.id()),
+                () -> assertThat(indexedStore.summarize(1L)).isEqualTo(columnar.summarize(1L)),
+                () -> assertThat(indexedStore.summarize(1L).use().sum()).isEqualTo(50L),
+                () -> assertThat(visited).extracting(PointHistory::id).containsExactlyInAnyOrder(1L, 2L, committed.id()),
+                () -> assertThat(indexedStore.isIndexed(3L)).isTrue()
+        );
+    }
+
+    @Nested
+    class 내역_페이지_조회 {
+
+        @Test
+        void 커서를_이어서_전달하면_전체_내역을_중복없이_조회한다() {
+            // given
+            for (int i = 1; i <= 5; i++) {
+                pointHistoryStore.insert(1L, i, TransactionType.CHARGE, i);
+            }
+
+            // when
+            PointHistoryPage first = pointHistoryStore.findPage(1L, PointHistoryQuery.first(2));
+            PointHistoryPage second = pointHistoryStore.findPage(1L, new PointHistoryQuery(first.nextCursor(), 2, null, null, null));
+            PointHistoryPage third = pointHistoryStore.findPage(1L, new PointHistoryQuery(second.nextCursor(), 2, null, null, null));
+
+            // then
+            assertAll(
+                    () -> assertThat(first.content()).extracting(PointHistory::amount).containsExactly(1L, 2L),
+                    () -> assertThat(second.content()).extracting(PointHistory::amount).containsExactly(3L, 4L),
+                    () -> assertThat(third.content()).extracting(PointHistory::amount).containsExactly(5L),
+                    () -> assertThat(third.hasNext()).isFalse()
+            );
+        }
+
+        @Test
+        void 기간과_트랜잭션_종류로_내역을_걸러낸다() {
+            // given
+            pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, 10L);
+            pointHistoryStore.insert(1L, 200L, TransactionType.USE, 20L);
+            pointHistoryStore.insert(1L, 300L, TransactionType.CHARGE, 30L);
+            pointHistoryStore.insert(1L, 400L, TransactionType.CHARGE, 40L);
+
+            // when
+            PointHistoryPage page = pointHistoryStore.findPage(1L, new PointHistoryQuery(null, 10, 15L, 35L, TransactionType.CHARGE));
+
+            // then
+            assertAll(
+                    () -> assertThat(page.content()).extracting(PointHistory::amount).containsExactly(300L),
+                    () -> assertThat(page.hasNext()).isFalse()
+            );
+        }
+
+        @Test
+        void 마지막_페이지가_정확히_가득_차면_다음_커서는_없다() {
+            // given
+            pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, 1L);
+            pointHistoryStore.insert(1L, 200L, TransactionType.CHARGE, 2L);
+
+            // when
+            PointHistoryPage page = pointHistoryStore.findPage(1L, PointHistoryQuery.first(2));
+
+            // then
+            assertAll(
+                    () -> assertThat(page.content()).hasSize(2),
+                    () -> assertThat(page.nextCursor()).isNull()
+            );
+        }
+
+        @Test
+        void 기록_대기중인_내역은_전체_조회와_순회에만_포함되고_기록된_뒤에_페이지에_포함된다() {
+            // given
+            pointHistoryStore.insert(1L, 100L, TransactionType.CHARGE, 1L);
+            pointHistoryStore.insert(1L, 200L, TransactionType.CHARGE, 2L);
+            PendingPointHistory pending = new PendingPointHistory(1L, 1L, 50L, TransactionType.USE, 3L);
+            pointHistoryStore.addPending(pending);
+
+            // when
+            List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+            List<PointHistory> visited = new ArrayList<>();
+            pointHistoryStore.forEachByUserId(1L, visited::add);
+            PointHistoryPage pendingPage = pointHistoryStore.findPage(1L, PointHistoryQuery.first(10));
+            PointHistory committed = pointHistoryStore.commitPending(pending);
+            PointHistoryPage committedPage = pointHistoryStore.findPage(1L, PointHistoryQuery.first(10));
+
+            // then
+            assertAll(
+                    () -> assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 2L, 0L),
+                    () -> assertThat(histories).extracting(PointHistory::amount).containsExactly(100L, 200L, 50L),
+                    () -> assertThat(visited).isEqualTo(histories),
+                    () -> assertThat(pendingPage.content()).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                    () -> assertThat(committedPage.content()).extracting(PointHistory::id).containsExactly(1L, 2L, committed.id()),
+                    () -> assertThat(pointHistoryStore.selectAllByUserId(1L)).isEqualTo(committedPage.content())
+            );
+        }
+
+        @Test
+        void 페이지_크기가_범위를_벗어나면_예외가_발생한다() {
+            assertThatThrownBy(() -> PointHistoryQuery.first(PointHistoryQuery.MAX_PAGE_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(ErrorMessage.INVALID_PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointMetricsTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    @Test
+    void 락을_잡고_풀면_대기_시간과_보유_시간이_기록된다() throws InterruptedException {
+        // given
+        LockManager lockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ZERO, 0), pointMetrics);
+        Lock lock = lockManager.getLock(1L);
+
+        // when
+        lock.lock();
+        lock.lock(); // 재진입은 보유 시간을 따로 기록하지 않는다
+        Thread.sleep(10);
+        lock.unlock();
+        lock.unlock();
+
+        // then
+        assertAll(
+                () -> assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(2),
+                () -> assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("point.lock.hold").timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10)
+        );
+    }
+
+    @Test
+    void 충전_사용_처리_결과가_유형과_성공여부별로_기록된다() {
+        // when
+        pointMetrics.recordOperation(TransactionType.CHARGE, () -> UserPoint.empty(1L));
+        assertThatThrownBy(() -> pointMetrics.recordOperation(TransactionType.USE, () -> {
+            throw new IllegalArgumentException(ErrorMessage.INSUFFICIENT_POINTS);
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertAll(
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "CHARGE", "outcome", "success").timer().count()).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "USE", "outcome", "failure").timer().count()).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("point.operation").tags("type", "USE", "outcome", "success").timer().count()).isZero()
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointReadCoalescerTest {
+
+    LockManager lockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ZERO, 0),
+            new PointMetrics(new SimpleMeterRegistry()));
+    PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.LOCK, new PointWriteProperties.GroupCommit(64),
+            new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+    PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(new PointReadProperties(true, true, 100_000), writeProperties, lockManager);
+
+    @Test
+    void 같은_유저를_동시에_조회하면_한_번만_조회하고_결과를_함께_받는다() throws Exception {
+        // given
+        int readers = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> leader = CompletableFuture.supplyAsync(() -> pointReadCoalescer.getPoint(1L, () -> {
+            lookups.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new UserPoint(1L, 1000L, 1L);
+        }), executor);
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        List<CompletableFuture<UserPoint>> followers = new ArrayList<>();
+        for (int i = 1; i < readers; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> pointReadCoalescer.getPoint(1L, () -> {
+                lookups.incrementAndGet();
+                return new UserPoint(1L, 0L, 2L);
+            }), executor));
+        }
+        while (pointReadCoalescer.coalescedCount() < readers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        UserPoint expected = leader.get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<UserPoint> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+        }
+        executor.shutdown();
+        assertAll(
+                () -> assertThat(lookups.get()).isEqualTo(1),
+                () -> assertThat(pointReadCoalescer.flightCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void 충전_사용이_끝난_뒤에_시작한_조회는_그_이전의_조회_결과를_받지_않는다() throws Exception {
+        // given: 유저 락을 잡고 조회 중인 동안 쓰기가 락을 기다린다
+        AtomicLong balance = new AtomicLong(0L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> before = CompletableFuture.supplyAsync(() -> pointReadCoalescer.getPoint(1L, () -> {
+            started.countDown();
+            await(release);
+            return new UserPoint(1L, balance.get(), 1L);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            Lock lock = lockManager.acquire(1L);
+            try {
+                balance.set(100L);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        // when
+        release.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        UserPoint after = pointReadCoalescer.getPoint(1L, () -> new UserPoint(1L, balance.get(), 2L));
+
+        // then
+        assertAll(
+                () -> assertThat(before.get(5, TimeUnit.SECONDS).point()).isEqualTo(0L),
+                () -> assertThat(after.point()).isEqualTo(100L),
+                () -> assertThat(pointReadCoalescer.flightCount()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void 조회가_실패하면_예외를_그대로_던지고_다음_조회는_다시_저장소를_조회한다() {
+        // given
+        assertThatThrownBy(() -> pointReadCoalescer.getHistories(1L, () -> {
+            throw new IllegalStateException("조회 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        List<PointHistory> histories = pointReadCoalescer.getHistories(1L, List::of);
+
+        // then
+        assertAll(
+                () -> assertThat(histories).isEmpty(),
+                () -> assertThat(pointReadCoalescer.flightCount()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void 조회_중_Error가_발생해도_기다리던_조회는_같은_Error를_받고_다음_조회는_다시_조회한다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> leader = CompletableFuture.supplyAsync(() -> pointReadCoalescer.getPoint(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new AssertionError("조회 실패");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<UserPoint> follower = CompletableFuture.supplyAsync(() -> pointReadCoalescer.getPoint(1L, () -> new UserPoint(1L, 0L, 1L)));
+        while (pointReadCoalescer.coalescedCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class),
+                () -> assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class),
+                () -> assertThat(pointReadCoalescer.getPoint(1L, () -> new UserPoint(1L, 100L, 2L)).point()).isEqualTo(100L),
+                () -> assertThat(pointReadCoalescer.flightCount()).isEqualTo(2)
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    @Test
+    void 스냅샷에는_그_시점까지_동기화된_로그가_반영된다() throws InterruptedException, IOException {
+        // given
+        PointCommitLog pointCommitLog = openLog();
+        PointSnapshotter pointSnapshotter = openSnapshotter(pointCommitLog, 3);
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 10L);
+        pointCommitLog.append(1L, 30L, TransactionType.USE, 20L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 30L);
+
+        // when
+        long lastSequence = pointSnapshotter.snapshot();
+        long unchanged = pointSnapshotter.snapshot(); // 새 로그가 없으면 기록하지 않는다
+        pointSnapshotter.shutdown();
+        pointCommitLog.shutdown();
+        PointSnapshot snapshot = PointSnapshot.readFrom(directory.resolve("snapshot").resolve(String.format("%020d.snap", 3)));
+
+        // then
+        assertAll(
+                () -> assertThat(lastSequence).isEqualTo(3L),
+                () -> assertThat(unchanged).isEqualTo(3L),
+                () -> assertThat(snapshotCount()).isEqualTo(1),
+                () -> assertThat(snapshot.lastSequence()).isEqualTo(3L),
+                () -> assertThat(snapshot.balances()).containsEntry(1L, new PointSnapshot.Balance(70L, 20L))
+                        .containsEntry(2L, new PointSnapshot.Balance(50L, 30L))
+        );
+    }
+
+    @Test
+    void 재시작하면_최신_스냅샷과_그_이후의_로그만_재생해_잔고를_복구한다() throws InterruptedException, IOException {
+        // given: 스냅샷 이후에 로그가 더 쌓인 상태로 종료된다
+        PointCommitLog pointCommitLog = openLog();
+        PointSnapshotter pointSnapshotter = openSnapshotter(pointCommitLog, 1);
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 10L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 20L);
+        pointSnapshotter.snapshot();
+        pointCommitLog.append(1L, 40L, TransactionType.USE, 30L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 40L);
+        pointCommitLog.append(3L, 10L, TransactionType.CHARGE, 50L);
+        pointCommitLog.shutdown(); // 종료 시 스냅샷을 남기지 않고 로그만 동기화된 상태
+
+        // when
+        PointCommitLog reopenedLog = openLog();
+        PointSnapshotter reopenedSnapshotter = openSnapshotter(reopenedLog, 1);
+        UserPointTableRepository userPointTableRepository = new UserPointTableRepository(new UserPointTable(), pointMetrics);
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(new PointHistoryTable(), pointMetrics));
+        new PointCommitLogRecovery(reopenedLog, reopenedSnapshotter,
+                new UserPointCache(userPointTableRepository, new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000))),
+                pointHistoryStore, pointMetrics).recover();
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+        reopenedSnapshotter.shutdown();
+        reopenedLog.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(reopenedSnapshotter.loaded().lastSequence()).isEqualTo(2L),
+                () -> assertThat(userPointTableRepository.selectById(1L).point()).isEqualTo(60L),
+                () -> assertThat(userPointTableRepository.selectById(2L).point()).isEqualTo(100L),
+                () -> assertThat(userPointTableRepository.selectById(3L).point()).isEqualTo(10L),
+                () -> assertThat(histories).extracting(PointHistory::amount).containsExactly(100L, 40L),
+                () -> assertThat(meterRegistry.get("point.recovery").timer().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void 스냅샷_이전의_세그먼트는_보관_파일로_옮겨_지우고_재시작해도_전체_내역을_복구한다() throws InterruptedException, IOException {
+        // given: 세그먼트(4KB) 하나에 레코드가 102개씩 들어가므로 250개는 세그먼트 3개에 나뉜다
+        PointCommitLog pointCommitLog = openLog();
+        PointSnapshotter pointSnapshotter = openSnapshotter(pointCommitLog, 1);
+        for (int i = 0; i < 250; i++) {
+            pointCommitLog.append(i % 5, 10L, TransactionType.CHARGE, i);
+        }
+        pointSnapshotter.snapshot();
+        long segmentsAfterSnapshot = logSegmentCount();
+        pointCommitLog.append(0L, 10L, TransactionType.USE, 250L);
+        pointCommitLog.shutdown();
+
+        // when
+        PointCommitLog reopenedLog = openLog();
+        PointSnapshotter reopenedSnapshotter = openSnapshotter(reopenedLog, 1);
+        UserPointTableRepository userPointTableRepository = new UserPointTableRepository(new UserPointTable(), pointMetrics);
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(new PointHistoryTable(), pointMetrics));
+        new PointCommitLogRecovery(reopenedLog, reopenedSnapshotter,
+                new UserPointCache(userPointTableRepository, new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000))),
+                pointHistoryStore, pointMetrics).recover();
+        long archivedSequence = reopenedLog.archivedSequence();
+        List<PointHistory> user0Histories = pointHistoryStore.selectAllByUserId(0L);
+        List<PointHistory> user4Histories = pointHistoryStore.selectAllByUserId(4L);
+        reopenedSnapshotter.shutdown();
+        reopenedLog.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(segmentsAfterSnapshot).isEqualTo(1),
+                () -> assertThat(archivedSequence).isEqualTo(250L),
+                () -> assertThat(userPointTableRepository.selectById(0L).point()).isEqualTo(490L),
+                () -> assertThat(userPointTableRepository.selectById(4L).point()).isEqualTo(500L),
+                () -> assertThat(user0Histories).hasSize(51)
+                        .extracting(PointHistory::id).isSorted().startsWith(1L, 6L).endsWith(251L),
+                () -> assertThat(user4Histories).hasSize(50)
+        );
+    }
+
+    @Test
+    void 스냅샷_이전의_내역은_복구_시_적재하지_않고_처음_조회할_때_로그에서_읽는다() throws InterruptedException {
+        // given: 스냅샷 이후의 레코드가 없다
+        PointCommitLog pointCommitLog = openLog();
+        PointSnapshotter pointSnapshotter = openSnapshotter(pointCommitLog, 1);
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 10L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 20L);
+        pointCommitLog.append(1L, 30L, TransactionType.USE, 30L);
+        pointSnapshotter.shutdown();
+        pointCommitLog.shutdown();
+
+        // when
+        PointCommitLog reopenedLog = openLog();
+        PointSnapshotter reopenedSnapshotter = openSnapshotter(reopenedLog, 1);
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(new PointHistoryTable(), pointMetrics));
+        new PointCommitLogRecovery(reopenedLog, reopenedSnapshotter,
+                new UserPointCache(new UserPointTableRepository(new UserPointTable(), pointMetrics), new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000))),
+                pointHistoryStore, pointMetrics).recover();
+        boolean indexedBeforeRead = pointHistoryStore.isIndexed(1L);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+        PointHistory inserted = pointHistoryStore.insert(1L, 10L, TransactionType.CHARGE, 40L);
+        reopenedSnapshotter.shutdown();
+        reopenedLog.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(meterRegistry.get("point.recovery").timer().count()).isEqualTo(1),
+                () -> assertThat(indexedBeforeRead).isFalse(),
+                () -> assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 3L),
+                () -> assertThat(inserted.id()).isEqualTo(4L), // 로그에 남겨 둔 내역의 id 뒤로 이어진다
+                () -> assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L, 4L),
+                () -> assertThat(pointHistoryStore.summarize(1L).stats(TransactionType.CHARGE).count()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void 컬럼형_내역_저장소에서도_로그에_남겨_둔_내역이_페이지와_집계에_이어진다() throws InterruptedException {
+        // given
+        PointCommitLog pointCommitLog = openLog();
+        PointSnapshotter pointSnapshotter = openSnapshotter(pointCommitLog, 1);
+        pointCommitLog.append(1L, 100L, TransactionType.CHARGE, 10L);
+        pointCommitLog.append(2L, 50L, TransactionType.CHARGE, 20L);
+        pointCommitLog.append(1L, 30L, TransactionType.USE, 30L);
+        pointSnapshotter.snapshot();
+        pointCommitLog.append(1L, 10L, TransactionType.CHARGE, 40L);
+        pointCommitLog.append(1L, 20L, TransactionType.USE, 50L);
+        pointCommitLog.shutdown();
+
+        // when
+        PointCommitLog reopenedLog = openLog();
+        PointSnapshotter reopenedSnapshotter = openSnapshotter(reopenedLog, 1);
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new ColumnarPointHistoryStore());
+        new PointCommitLogRecovery(reopenedLog, reopenedSnapshotter,
+                new UserPointCache(new UserPointTableRepository(new UserPointTable(), pointMetrics), new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000))),
+                pointHistoryStore, pointMetrics).recover();
+        boolean indexedBeforeRead = pointHistoryStore.isIndexed(1L);
+        PointHistoryPage first = pointHistoryStore.findPage(1L, PointHistoryQuery.first(3));
+        PointHistoryPage second = pointHistoryStore.findPage(1L, new PointHistoryQuery(first.nextCursor(), 3, null, null, null));
+        PointHistorySummary summary = pointHistoryStore.summarize(1L);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+        PointHistory inserted = pointHistoryStore.insert(2L, 10L, TransactionType.USE, 60L);
+        reopenedSnapshotter.shutdown();
+        reopenedLog.shutdown();
+
+        // then
+        assertAll(
+                () -> assertThat(indexedBeforeRead).isFalse(),
+                () -> assertThat(first.content()).extracting(PointHistory::id).containsExactly(1L, 3L, 4L),
+                () -> assertThat(first.nextCursor()).isEqualTo(4L),
+                () -> assertThat(second.content()).extracting(PointHistory::id).containsExactly(5L),
+                () -> assertThat(second.hasNext()).isFalse(),
+                () -> assertThat(summary.stats(TransactionType.CHARGE).sum()).isEqualTo(110L),
+                () -> assertThat(summary.stats(TransactionType.USE).count()).isEqualTo(2),
+                () -> assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 3L, 4L, 5L),
+                () -> assertThat(inserted.id()).isEqualTo(6L)
+        );
+    }
+
+    @Test
+    void 손상된_스냅샷은_읽지_않는다() throws IOException {
+        // given
+        Path path = directory.resolve("broken.snap");
+        PointSnapshot snapshot = new PointSnapshot(7L, Map.of(1L, new PointSnapshot.Balance(10L, 1L)));
+        snapshot.writeTo(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 10] ^= 0x01;
+        Files.write(path, bytes);
+
+        // when & then
+        assertThat(PointSnapshot.readFrom(path)).isNull();
+    }
+
+    private PointCommitLog openLog() {
+        return new PointCommitLog(new PointCommitLogProperties(true, directory.resolve("commit-log"), DataSize.ofKilobytes(4), Duration.ofMillis(1), true),
+                new PointThreadFactory(false));
+    }
+
+    private PointSnapshotter openSnapshotter(PointCommitLog pointCommitLog, int retain) {
+        return new PointSnapshotter(new PointSnapshotProperties(true, directory.resolve("snapshot"), Duration.ofHours(1), retain),
+                pointCommitLog, new PointThreadFactory(false));
+    }
+
+    private long logSegmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("commit-log"))) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private long snapshotCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("snapshot"))) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PointThreadFactoryTest {
+
+    @Test
+    void 플랫폼_스레드는_접두사_뒤에_0부터_순번을_붙인_데몬_스레드로_만든다() throws InterruptedException {
+        assertThreadNames(new PointThreadFactory(false));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void 가상_스레드도_같은_이름_규칙으로_만든다() throws InterruptedException {
+        assertThreadNames(new PointThreadFactory(true));
+    }
+
+    private static void assertThreadNames(PointThreadFactory pointThreadFactory) throws InterruptedException {
+        // given
+        ThreadFactory threadFactory = pointThreadFactory.threadFactory("point-test-");
+
+        // when
+        Thread first = threadFactory.newThread(() -> {
+        });
+        Thread second = threadFactory.newThread(() -> {
+        });
+        Thread started = pointThreadFactory.start("point-single", () -> {
+        });
+        started.join(5_000);
+
+        // then
+        assertAll(
+                () -> assertThat(first.getName()).isEqualTo("point-test-0"),
+                () -> assertThat(second.getName()).isEqualTo("point-test-1"),
+                () -> assertThat(started.getName()).isEqualTo("point-single"),
+                () -> assertThat(first.isDaemon()).isTrue()
+        );
+    }
+}
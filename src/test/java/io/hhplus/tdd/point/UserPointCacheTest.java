@@ -0,0 +1,223 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPointCacheTest {
+
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    UserPointTable userPointTable;
+
+    @Test
+    void 캐시된_유저는_테이블을_조회하지_않는다() {
+        // given
+        long userId = 1L;
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, 1L));
+
+        // when
+        userPointCache.selectById(userId);
+        UserPoint result = userPointCache.selectById(userId);
+
+        // then
+        assertAll(
+                () -> assertThat(result.point()).isEqualTo(1000L),
+                () -> assertThat(userPointCache.stats().hitCount()).isEqualTo(1),
+                () -> assertThat(userPointCache.stats().missCount()).isEqualTo(1)
+        );
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    @Test
+    void 저장에_성공하면_저장된_UserPoint로_캐시가_갱신된다() {
+        // given
+        long userId = 1L;
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        when(userPointTable.insertOrUpdate(userId, 500L)).thenReturn(new UserPoint(userId, 500L, 1L));
+
+        // when
+        userPointCache.insertOrUpdate(userId, 500L);
+        UserPoint result = userPointCache.selectById(userId);
+
+        // then
+        assertThat(result.point()).isEqualTo(500L);
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+
+    @Test
+    void 저장된_UserPoint는_게시되고_저장_결과를_알_수_없으면_게시를_철회한다() {
+        // given
+        long userId = 1L;
+        PublishedUserPoints publishedUserPoints = new PublishedUserPoints(new PointReadProperties(true, true, 100_000));
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 100, Duration.ZERO), publishedUserPoints);
+        when(userPointTable.insertOrUpdate(userId, 500L)).thenReturn(new UserPoint(userId, 500L, 1L));
+        when(userPointTable.insertOrUpdate(userId, 700L)).thenThrow(new IllegalStateException("저장 실패"));
+
+        // when
+        userPointCache.insertOrUpdate(userId, 500L);
+        UserPoint published = userPointCache.selectIfCheap(userId);
+        try {
+            userPointCache.insertOrUpdate(userId, 700L);
+        } catch (IllegalStateException ignored) {
+        }
+
+        // then
+        assertAll(
+                () -> assertThat(published).isEqualTo(new UserPoint(userId, 500L, 1L)),
+                () -> assertThat(userPointCache.selectIfCheap(userId)).isNull(),
+                () -> assertThat(publishedUserPoints.hitCount()).isEqualTo(1)
+        );
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+
+    @Test
+    void 최대_크기를_넘으면_오래된_항목이_제거된다() {
+        // given
+        int maxSize = 16; // 세그먼트당 1개
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, maxSize, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 1L));
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            userPointCache.insertOrUpdate(userId, 10L);
+        }
+
+        // then
+        UserPointCache.CacheStats stats = userPointCache.stats();
+        assertAll(
+                () -> assertThat(stats.size()).isLessThanOrEqualTo(maxSize),
+                () -> assertThat(stats.evictionCount()).isEqualTo(100 - stats.size())
+        );
+    }
+
+    @Test
+    void 게시된_유저가_최대_수를_넘으면_다른_유저의_게시를_철회하고_캐시에서_제거된_유저도_철회한다() {
+        // given
+        PublishedUserPoints bounded = new PublishedUserPoints(new PointReadProperties(true, true, 2));
+        PublishedUserPoints followingCache = new PublishedUserPoints(new PointReadProperties(true, true, 100_000));
+        UserPointCache uncached = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 100, Duration.ZERO), bounded);
+        UserPointCache cached = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 16, Duration.ZERO), followingCache);
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 1L));
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            uncached.insertOrUpdate(userId, 10L);
+            cached.insertOrUpdate(userId, 10L);
+        }
+
+        // then
+        assertAll(
+                () -> assertThat(bounded.size()).isEqualTo(2),
+                () -> assertThat(bounded.evictionCount()).isEqualTo(98),
+                () -> assertThat(bounded.get(100L)).isEqualTo(new UserPoint(100L, 10L, 1L)),
+                () -> assertThat((long) followingCache.size()).isEqualTo(cached.stats().size()),
+                () -> assertThat(followingCache.evictionCount()).isZero()
+        );
+    }
+
+    @Test
+    void 읽는_도중_게시가_바뀌었다면_읽어_온_값을_게시하지_않는다() {
+        // given
+        long userId = 1L;
+        PublishedUserPoints publishedUserPoints = new PublishedUserPoints(new PointReadProperties(true, true, 100_000));
+        long version = publishedUserPoints.version(userId); // 저장소를 읽기 시작한 시점
+        publishedUserPoints.publish(new UserPoint(userId, 500L, 2L)); // 읽는 도중 끝난 충전
+        publishedUserPoints.unpublish(userId); // 최대 수를 넘거나 캐시에서 제거되어 철회
+
+        // when
+        publishedUserPoints.publishIfAbsent(new UserPoint(userId, 0L, 1L), version);
+        UserPoint stale = publishedUserPoints.get(userId);
+        publishedUserPoints.publishIfAbsent(new UserPoint(userId, 500L, 2L), publishedUserPoints.version(userId));
+
+        // then
+        assertAll(
+                () -> assertThat(stale).isNull(),
+                () -> assertThat(publishedUserPoints.get(userId)).isEqualTo(new UserPoint(userId, 500L, 2L))
+        );
+    }
+
+    @Test
+    void ttl이_지난_항목은_다시_테이블에서_조회한다() throws InterruptedException {
+        // given
+        long userId = 1L;
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ofMillis(10)), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, 1L));
+
+        // when
+        userPointCache.selectById(userId);
+        Thread.sleep(20);
+        userPointCache.selectById(userId);
+
+        // then
+        verify(userPointTable, times(2)).selectById(userId);
+    }
+
+    @Test
+    void ttl이_지나면_게시된_UserPoint도_철회되어_저장소를_다시_조회해야_한다() throws InterruptedException {
+        // given
+        long userId = 1L;
+        PublishedUserPoints publishedUserPoints = new PublishedUserPoints(new PointReadProperties(true, true, 100_000));
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ofMillis(10)), publishedUserPoints);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, 1L));
+        userPointCache.selectById(userId);
+        UserPoint beforeExpiry = userPointCache.selectIfCheap(userId);
+
+        // when
+        Thread.sleep(20);
+        UserPoint afterExpiry = userPointCache.selectIfCheap(userId);
+
+        // then
+        assertAll(
+                () -> assertThat(beforeExpiry).isEqualTo(new UserPoint(userId, 1000L, 1L)),
+                () -> assertThat(afterExpiry).isNull(),
+                () -> assertThat(userPointCache.getIfPresent(userId)).isNull(),
+                () -> assertThat(publishedUserPoints.size()).isZero()
+        );
+    }
+
+    @Test
+    void 캐시를_사용하지_않으면_항상_테이블을_조회한다() {
+        // given
+        long userId = 1L;
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(false, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+
+        // when
+        userPointCache.selectById(userId);
+        userPointCache.selectById(userId);
+
+        // then
+        verify(userPointTable, times(2)).selectById(userId);
+    }
+
+    @Test
+    void 캐시가_필요_없는_메모리_저장소면_캐시를_거치지_않는다() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(new PackedUserPointRepository(), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+
+        // when
+        UserPoint saved = userPointCache.insertOrUpdate(1L, 500L);
+
+        // then
+        assertAll(
+                () -> assertThat(userPointCache.selectById(1L)).isEqualTo(saved),
+                () -> assertThat(userPointCache.getIfPresent(1L)).isNull(),
+                () -> assertThat(userPointCache.stats().size()).isZero()
+        );
+    }
+}
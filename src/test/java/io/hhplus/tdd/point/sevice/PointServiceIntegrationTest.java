@@ -4,6 +4,7 @@ import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PublishedUserPoints;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import org.junit.jupiter.api.Nested;
@@ -18,6 +19,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.AssertionsForClassTypes.within;
@@ -37,6 +40,9 @@ class PointServiceIntegrationTest {
     @Autowired
     PointService pointService;
 
+    @Autowired
+    PublishedUserPoints publishedUserPoints;
+
     @Test
     void 유저는_자신의_포인트를_조회할_수_있다() {
         // given
@@ -349,5 +355,55 @@ class PointServiceIntegrationTest {
             assertThat(userPoint1.updateMillis()).isCloseTo(userPoint2.updateMillis(), within(250L));
             assertThat(userPoint2.updateMillis()).isCloseTo(userPoint3.updateMillis(), within(250L));
         }
+
+        @Test
+        void 같은_유저에_충전이_몰려도_잔고_조회는_유저_락을_기다리지_않는다() throws InterruptedException {
+            // given: 충전 요청이 유저 락을 계속 잡고 있는 상태 (충전 한 번에 테이블 조회/저장으로 최대 500ms)
+            long userId = 13L;
+            int writerCount = 4;
+            pointService.chargePoint(userId, 1L);
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService writers = Executors.newFixedThreadPool(writerCount);
+            for (int i = 0; i < writerCount; i++) {
+                writers.submit(() -> {
+                    while (running.get()) {
+                        pointService.chargePoint(userId, 1L);
+                    }
+                });
+            }
+            Thread.sleep(100);
+
+            // when
+            long maxReadNanos = 0;
+            long lastPoint = 0;
+            long reads = 0;
+            boolean nonDecreasing = true;
+            long publishedHitsBefore = publishedUserPoints.hitCount();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (System.nanoTime() < deadline) {
+                long startedAt = System.nanoTime();
+                UserPoint userPoint = pointService.getPoint(userId);
+                maxReadNanos = Math.max(maxReadNanos, System.nanoTime() - startedAt);
+                nonDecreasing &= userPoint.point() >= lastPoint;
+                lastPoint = userPoint.point();
+                reads++;
+            }
+            long publishedReads = publishedUserPoints.hitCount() - publishedHitsBefore;
+            running.set(false);
+            writers.shutdown();
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+
+            // then: 모든 조회가 게시된 잔고로 응답해 유저 락과 테이블을 거치지 않고, 저장이 끝난 잔고만 순서대로 본다
+            long readCount = reads;
+            long observedPoint = lastPoint;
+            boolean observedInOrder = nonDecreasing;
+            log.info("충전 경합 중 최대 잔고 조회 시간: {}ms", TimeUnit.NANOSECONDS.toMillis(maxReadNanos));
+            assertAll(
+                    () -> assertThat(publishedReads).isEqualTo(readCount),
+                    () -> assertThat(observedInOrder).isTrue(),
+                    () -> assertThat(observedPoint).isLessThanOrEqualTo(pointService.getPoint(userId).point()),
+                    () -> assertThat(pointService.getPoint(userId)).isEqualTo(userPointTable.selectById(userId))
+            );
+        }
     }
 }
@@ -2,16 +2,17 @@ package io.hhplus.tdd.point.sevice;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
-import io.hhplus.tdd.point.PointHistory;
-import io.hhplus.tdd.point.PointService;
-import io.hhplus.tdd.point.TransactionType;
-import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -22,15 +23,32 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PointServiceTest {
 
+    PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    PointCommitLog pointCommitLog = new PointCommitLog(
+            new PointCommitLogProperties(false, Path.of("data/commit-log"), DataSize.ofMegabytes(1), Duration.ofMillis(5), true), new PointThreadFactory(false));
+
     @Mock
     UserPointTable userPointTable;
 
     @Mock
     PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
     PointService pointService;
 
+    @BeforeEach
+    void setUp() {
+        LockManager lockManager = new LockManager(new LockProperties(LockProperties.Mode.PER_USER, 1, Duration.ZERO, 0), pointMetrics);
+        UserPointCache userPointCache = new UserPointCache(new UserPointTableRepository(userPointTable, pointMetrics), new UserPointCacheProperties(true, 100, Duration.ZERO), new PublishedUserPoints(new PointReadProperties(true, true, 100_000)));
+        PointWriteProperties writeProperties = new PointWriteProperties(PointWriteMode.LOCK, new PointWriteProperties.GroupCommit(64), new PointWriteProperties.Cas(1, Duration.ofSeconds(30), 100_000), new PointWriteProperties.Actor(1, 100, Duration.ofSeconds(30)));
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(new PointHistoryTableRepository(pointHistoryTable, pointMetrics));
+        PointHistoryAppender pointHistoryAppender = new PointHistoryAppender(pointHistoryStore, pointCommitLog, new PointHistoryAppendProperties(false, 10, 1, Duration.ZERO), new PointThreadFactory(false));
+        PointGroupCommitter pointGroupCommitter = new PointGroupCommitter(userPointCache, pointHistoryAppender, lockManager, writeProperties);
+        CasBalanceEngine casBalanceEngine = new CasBalanceEngine(userPointCache, pointHistoryAppender, writeProperties, new PointThreadFactory(false));
+        PointActorExecutor pointActorExecutor = new PointActorExecutor(userPointCache, pointHistoryAppender, writeProperties, pointMetrics, new PointThreadFactory(false));
+        PointReadCoalescer pointReadCoalescer = new PointReadCoalescer(new PointReadProperties(true, true, 100_000), writeProperties, lockManager);
+        pointService = new PointService(userPointCache, pointHistoryStore, pointHistoryAppender, lockManager, pointGroupCommitter, casBalanceEngine, pointActorExecutor, pointReadCoalescer, writeProperties, pointMetrics);
+    }
+
     @Test
     void 유저_포인트를_조회할_수_있다() {
         // given
@@ -90,6 +108,8 @@ class PointServiceTest {
 
         when(userPointTable.selectById(userId)).thenReturn(userPoint);
         when(userPointTable.insertOrUpdate(userId, point + amount)).thenReturn(chargeUserPoint);
+        when(pointHistoryTable.insert(eq(userId), eq(amount), eq(TransactionType.CHARGE), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, amount, TransactionType.CHARGE, timestamp));
 
         // when
         UserPoint result = pointService.chargePoint(userId, amount);
@@ -120,6 +140,8 @@ class PointServiceTest {
 
         when(userPointTable.selectById(userId)).thenReturn(userPoint);
         when(userPointTable.insertOrUpdate(userId, point - amount)).thenReturn(useUserPoint);
+        when(pointHistoryTable.insert(eq(userId), eq(amount), eq(TransactionType.USE), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, amount, TransactionType.USE, timestamp));
 
         // when
         UserPoint result = pointService.usePoint(userId, amount);
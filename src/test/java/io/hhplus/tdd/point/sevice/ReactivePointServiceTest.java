@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point.sevice;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.ErrorMessage;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.ReactivePointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest
+class ReactivePointServiceTest {
+
+    @Autowired
+    UserPointTable userPointTable;
+
+    @Autowired
+    ReactivePointService reactivePointService;
+
+    @Test
+    void 단일_유저의_동시_충전_요청은_구독한_순서대로_반영된다() {
+        // given
+        long userId = 101L;
+        int requestCount = 5;
+
+        // when: 앞선 요청의 완료를 기다리지 않고 한 번에 구독한다
+        List<Mono<UserPoint>> requests = new ArrayList<>();
+        for (long amount = 1; amount <= requestCount; amount++) {
+            requests.add(reactivePointService.chargePoint(userId, amount).cache());
+        }
+        requests.forEach(Mono::subscribe);
+        List<UserPoint> results = Flux.concat(requests).collectList().block();
+
+        // then
+        List<PointHistory> userPointHistory = reactivePointService.getUserPointHistory(userId).block();
+        assertAll(
+                () -> assertThat(results).extracting(UserPoint::point).containsExactly(1L, 3L, 6L, 10L, 15L),
+                () -> assertThat(reactivePointService.getPoint(userId).block().point()).isEqualTo(15L),
+                () -> assertThat(userPointHistory).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L)
+        );
+    }
+
+    @Test
+    void 단일_유저가_동시에_여러번의_충전_및_사용을_요청하면_정상적으로_반영된다() {
+        // given
+        long userId = 102L;
+        int requestCount = 5;
+        userPointTable.insertOrUpdate(userId, 0L);
+
+        // when
+        Flux.range(0, requestCount)
+                .flatMap(i -> reactivePointService.chargePoint(userId, 1000L)
+                        .then(reactivePointService.usePoint(userId, 500L)))
+                .blockLast();
+
+        // then
+        List<PointHistory> userPointHistory = reactivePointService.getUserPointHistory(userId).block();
+        assertAll(
+                () -> assertThat(reactivePointService.getPoint(userId).block().point()).isEqualTo(2500L),
+                () -> assertThat(userPointHistory).hasSize(requestCount * 2),
+                () -> assertThat(userPointHistory).filteredOn(history -> history.type() == TransactionType.USE).hasSize(requestCount)
+        );
+    }
+
+    @Test
+    void 실패한_요청은_뒤따르는_요청의_처리를_막지_않는다() {
+        // given
+        long userId = 103L;
+        Mono<UserPoint> failed = reactivePointService.usePoint(userId, 1000L).cache(); // 잔고 부족
+        Mono<UserPoint> charged = reactivePointService.chargePoint(userId, 1000L).cache();
+
+        // when
+        failed.subscribe(userPoint -> { }, e -> { });
+        charged.subscribe();
+
+        // then
+        assertAll(
+                () -> assertThatThrownBy(failed::block).hasMessage(ErrorMessage.INSUFFICIENT_POINTS),
+                () -> assertThat(charged.block().point()).isEqualTo(1000L)
+        );
+    }
+
+    @Test
+    void 서로다른_유저들의_충전_요청은_동시에_처리된다() {
+        // given
+        long[] userIds = {104L, 105L, 106L};
+
+        // when
+        Flux.fromStream(LongStream.of(userIds).boxed())
+                .flatMap(userId -> reactivePointService.chargePoint(userId, 1000L))
+                .blockLast();
+
+        // then
+        List<UserPoint> userPoints = Flux.fromStream(LongStream.of(userIds).boxed())
+                .concatMap(reactivePointService::getPoint)
+                .collectList()
+                .block();
+        assertThat(userPoints).extracting(UserPoint::point).containsOnly(1000L);
+    }
+}